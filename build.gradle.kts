@@ -29,6 +29,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-oauth2-client")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     compileOnly("org.projectlombok:lombok")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
     runtimeOnly("com.h2database:h2")
@@ -46,6 +47,8 @@ dependencies {
 
     implementation(platform("software.amazon.awssdk:bom:2.25.40"))
     implementation("software.amazon.awssdk:s3")
+
+    implementation("org.sejda.imageio:webp-imageio:0.1.6")
 }
 
 tasks.withType<Test> {
@@ -0,0 +1,92 @@
+package com.ayno.aynobe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * 미디어 발행(S3 HEAD/GET/PUT/COPY) 팬아웃용 스레드 풀.
+     * - S3 I/O 대기가 대부분이라 CPU 수보다 조금 넉넉하게
+     * - 큐가 차면 호출 스레드에서 직접 실행 → 무한정 쌓이지 않는다
+     */
+    @Bean(name = "mediaPublishExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor mediaPublishExecutor(
+            @Value("${app.publish.max-concurrency:8}") int maxConcurrency,
+            @Value("${app.publish.queue-capacity:256}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("media-publish-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 업로드 후처리 작업(media_job) 실행 풀.
+     * - 워커가 빈 슬롯 수만큼만 가져오므로 큐는 거의 쓰이지 않는다
+     */
+    @Bean(name = "mediaJobExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor mediaJobExecutor(
+            @Value("${app.media-job.concurrency:4}") int concurrency
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("media-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * S3 DeleteObjects 청크(최대 1000키) 동시 전송용.
+     * - 큐가 차면 호출 스레드에서 직접 실행 → 워커 스레드가 막히지 않는다
+     */
+    @Bean(name = "s3DeleteExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor s3DeleteExecutor(
+            @Value("${app.s3.delete-concurrency:4}") int concurrency
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency * 4);
+        executor.setThreadNamePrefix("s3-delete-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * S3 고아 파일 정리(야간 배치) 샤드 병렬 스캔용.
+     * - 샤드 수(9)만큼만 제출되므로 큐는 작게
+     */
+    @Bean(name = "s3CleanupExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor s3CleanupExecutor(
+            @Value("${app.cleanup.concurrency:4}") int concurrency
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(16);
+        executor.setThreadNamePrefix("s3-cleanup-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ayno.aynobe.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.IOException;
+
+/**
+ * 목록 API 약한 ETag.
+ * 목록은 카운터/정렬이 수시로 바뀌어 버전 조회로 ETag 를 만들 수 없으므로, 응답 본문 해시로 W/"..." 를 붙이고
+ * If-None-Match 가 같으면 본문 대신 304 를 보낸다. (전송량 절감, 상세는 컨트롤러에서 강한 ETag 처리)
+ *
+ * Spring Security 기본값(no-cache, no-store)이 붙으면 브라우저가 ETag 를 저장하지 않아 재검증이 일어나지 않는다
+ * → 체인 진입 전에 Cache-Control 을 먼저 정해 둔다 (보안 헤더는 이미 있으면 덮어쓰지 않음).
+ * 로그인 사용자별 응답(좋아요 여부, 내 목록)이 섞이므로 공유 캐시(CDN)는 금지, 매번 재검증.
+ */
+@Configuration
+public class WebCacheConfig {
+
+    private static final String LIST_CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, LIST_CACHE_CONTROL);
+                super.doFilterInternal(request, response, filterChain);
+            }
+        };
+        filter.setWriteWeakETag(true);
+
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(
+                "/api/artifacts",
+                "/api/artifacts/cursor",
+                "/api/users/me/artifact",
+                "/api/users/me/likes",
+                "/api/admin/artifacts"
+        );
+        registration.setName("listEtagFilter");
+        return registration;
+    }
+}
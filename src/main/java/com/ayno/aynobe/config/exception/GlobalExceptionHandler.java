@@ -6,6 +6,7 @@ import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -129,6 +130,12 @@ public class GlobalExceptionHandler {
                 .body(Response.fail("DATA.DUPLICATE", "이미 존재하는 데이터입니다."));
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Response<Void>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Response.fail("DATA.CONFLICT", "다른 요청에서 먼저 수정되었습니다. 새로고침 후 다시 시도해주세요."));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Response<Void>> handleDataIntegrity(DataIntegrityViolationException ex) {
         log.warn("[DataIntegrityViolation] {}", ex.getMostSpecificCause().getMessage());
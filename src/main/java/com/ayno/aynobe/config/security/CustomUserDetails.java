@@ -2,7 +2,6 @@ package com.ayno.aynobe.config.security;
 
 import com.ayno.aynobe.entity.User;
 import com.ayno.aynobe.entity.enums.UserStatus;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,11 +10,36 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.function.Supplier;
 
-@RequiredArgsConstructor
 public class CustomUserDetails implements UserDetails, OAuth2User {
+    // 인증에 필요한 값은 따로 들고, User 엔티티는 처음 꺼낼 때 로드 (stateless 토큰이면 DB 를 안 칠 수도 있다)
+    private final Long userId;
+    private final String username;
+    private final UserStatus status;
+    private final long principalVersion;
+    private final Supplier<User> loader;
+    private User user;
+
     // 우리가 만든 User 엔티티 감싸기
-    private final User user;
+    public CustomUserDetails(User user) {
+        this(user.getUserId(), user.getUsername(), user.getStatus(), user.getPrincipalVersion(), null);
+        this.user = user;
+    }
+
+    private CustomUserDetails(Long userId, String username, UserStatus status, long principalVersion, Supplier<User> loader) {
+        this.userId = userId;
+        this.username = username;
+        this.status = status;
+        this.principalVersion = principalVersion;
+        this.loader = loader;
+    }
+
+    /** 토큰 클레임으로 만든 principal. getUser() 를 부를 때만 loader 로 엔티티를 얻는다. */
+    public static CustomUserDetails fromClaims(Long userId, String username, UserStatus status,
+                                               long principalVersion, Supplier<User> loader) {
+        return new CustomUserDetails(userId, username, status, principalVersion, loader);
+    }
 
     // 기본 권한: ROLE_USER (관리자는 별도 시큐리티 체인/토큰 사용 예정)
     @Override
@@ -24,24 +48,37 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
     }
 
     public User getUser() {
+        if (user == null) user = loader.get();
         return user;
     }
 
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getPrincipalVersion() {
+        return principalVersion;
+    }
+
+    public UserStatus getStatus() {
+        return status;
+    }
+
     // 일반 로그인 관련
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return getUser().getPasswordHash();
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     // 소셜 로그인 관련
     @Override
     public String getName() {
-        return user.getUsername();
+        return username;
     }
 
     @Override public Map<String, Object> getAttributes() {
@@ -65,11 +102,11 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
 
     @Override
     public boolean isAccountNonLocked() {
-        return this.user.getStatus() != UserStatus.BLOCKED;
+        return this.status != UserStatus.BLOCKED;
     }
 
     @Override
     public boolean isEnabled() {
-        return this.user.getStatus() == UserStatus.ACTIVE;
+        return this.status == UserStatus.ACTIVE;
     }
 }
@@ -1,9 +1,15 @@
 package com.ayno.aynobe.config.security.filter;
 
+import com.ayno.aynobe.config.security.CustomUserDetails;
+import com.ayno.aynobe.config.security.filter.RouteClassifier.Route;
 import com.ayno.aynobe.config.security.oauth.CookieFactory;
 import com.ayno.aynobe.config.security.service.CustomAdminDetailsService;
 import com.ayno.aynobe.config.security.service.CustomUserDetailsService;
 import com.ayno.aynobe.config.security.service.JwtService;
+import com.ayno.aynobe.config.security.service.PrincipalCache;
+import com.ayno.aynobe.config.security.service.PrincipalRevocationList;
+import com.ayno.aynobe.config.security.service.RefreshTokenService;
+import com.ayno.aynobe.entity.enums.UserStatus;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -17,12 +23,12 @@ import org.springframework.security.authentication.AccountStatusException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -31,31 +37,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
     private final CustomAdminDetailsService adminDetailsService;
+    private final PrincipalCache principalCache;
+    private final PrincipalRevocationList revocationList;
+    private final RefreshTokenService refreshTokenService;
     private final CookieFactory cookieFactory;
     private final JsonAccessDeniedHandler accessDeniedHandler;
 
-    private static final List<String> WHITELIST_PREFIXES = List.of(
-            "/api/auth", "/api/admin/auth", "/swagger-ui", "/swagger-ui.html", "/v3/api-docs", "/h2-console"
-    );
+    // 접두사 → 분류 (가장 긴 접두사 우선), 시작할 때 트라이로 한 번만 만든다
+    private static final RouteClassifier ROUTES = new RouteClassifier(Map.of(
+            "/api/auth", Route.WHITELISTED,
+            "/api/admin/auth", Route.WHITELISTED,
+            "/swagger-ui", Route.WHITELISTED,
+            "/v3/api-docs", Route.WHITELISTED,
+            "/h2-console", Route.WHITELISTED,
+            "/api/admin", Route.ADMIN
+    ));
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
-        String uri = request.getRequestURI();
+        Route route = ROUTES.classify(request.getRequestURI());
 
-        if (isWhitelisted(uri) || isAlreadyAuthenticated()) {
+        if (route == Route.WHITELISTED || isAlreadyAuthenticated()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AuthCookies cookies = AuthCookies.scan(request);
+        if (cookies == null) { // 인증 쿠키가 하나도 없음 → 익명
             chain.doFilter(request, response);
             return;
         }
 
         try {
-            if (tryAccessTokenAuthentication(request, uri)) {
+            if (tryAccessTokenAuthentication(cookies.access(route))) {
                 chain.doFilter(request, response);
                 return;
             }
 
-            if (tryRefreshTokenAuthentication(request, response, uri)) {
+            if (tryRefreshTokenAuthentication(response, cookies.refresh(route))) {
                 chain.doFilter(request, response);
                 return;
             }
@@ -70,16 +91,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     // --- Access Token 처리 ---
-    private boolean tryAccessTokenAuthentication(HttpServletRequest request, String uri) {
-        String token = resolveToken(request, uri, CookieFactory.ADMIN_ACCESS_COOKIE, CookieFactory.USER_ACCESS_COOKIE);
+    private boolean tryAccessTokenAuthentication(String token) {
         if (token == null) return false;
 
         try {
             var tokenInfo = jwtService.payload(token);
-            UserDetails principal = loadByRoles(tokenInfo.subject(), tokenInfo.roles());
+            UserDetails principal = jwtService.statelessEnabled() && tokenInfo.stateless()
+                    ? statelessPrincipal(tokenInfo)
+                    : loadCachedByRoles(tokenInfo.subject(), tokenInfo.roles());
 
-            if (jwtService.isTokenValid(tokenInfo, principal)) {
-                setAuthentication(request, principal);
+            if (principal != null && jwtService.isTokenValid(tokenInfo, principal)) {
+                setAuthentication(principal);
                 return true;
             }
         } catch (RuntimeException ignored) {
@@ -89,21 +111,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     // --- Refresh Token 처리 (재발급) ---
-    private boolean tryRefreshTokenAuthentication(HttpServletRequest request, HttpServletResponse response, String uri) {
-        String token = resolveToken(request, uri, CookieFactory.ADMIN_REFRESH_COOKIE, CookieFactory.USER_REFRESH_COOKIE);
+    private boolean tryRefreshTokenAuthentication(HttpServletResponse response, String token) {
         if (token == null) return false;
 
         try {
             var tokenInfo = jwtService.payload(token);
             if (jwtService.isRefreshTokenValid(tokenInfo)) {
-                UserDetails principal = loadByRoles(tokenInfo.subject(), tokenInfo.roles());
-                String newAccessToken = jwtService.generateAccessToken(principal);
+                // 회전 + 재사용 탐지, 같은 토큰의 동시 재발급은 하나로 합쳐진다
+                var reissued = refreshTokenService.reissue(token, tokenInfo,
+                        () -> loadByRoles(tokenInfo.subject(), tokenInfo.roles()));
 
                 // 쿠키 재발급 (Role 기반)
-                reissueCookie(response, newAccessToken, tokenInfo.roles());
+                reissueCookie(response, reissued.accessToken(), reissued.refreshToken(), tokenInfo.roles());
 
                 // 컨텍스트 설정
-                setAuthentication(request, principal);
+                setAuthentication(reissued.principal());
                 return true;
             }
         } catch (RuntimeException ignored) {
@@ -114,25 +136,102 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     // --- Helpers ---
 
-    private void reissueCookie(HttpServletResponse response, String accessToken, List<String> roles) {
+    private void reissueCookie(HttpServletResponse response, String accessToken, String refreshToken, List<String> roles) {
         boolean isAdmin = roles != null && roles.contains("ROLE_ADMIN");
         ResponseCookie cookie = isAdmin
                 ? cookieFactory.createAdminAccess(accessToken)
                 : cookieFactory.createUserAccess(accessToken);
         response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+
+        if (refreshToken != null) { // 회전된 새 리프레시 토큰
+            ResponseCookie refreshCookie = isAdmin
+                    ? cookieFactory.createAdminRefresh(refreshToken)
+                    : cookieFactory.createUserRefresh(refreshToken);
+            response.addHeader(HttpHeaders.SET_COOKIE, refreshCookie.toString());
+        }
     }
 
-    // 통합된 토큰 조회 로직 (중복 제거)
-    private String resolveToken(HttpServletRequest request, String uri, String adminCookieName, String userCookieName) {
-        if (uri.startsWith("/api/admin")) {
-            return getCookieValue(request, adminCookieName);
+    /** 인증 쿠키 4종을 한 번 훑어서 모아둔다 */
+    private static final class AuthCookies {
+        private String userAccess;
+        private String userRefresh;
+        private String adminAccess;
+        private String adminRefresh;
+
+        /** @return 인증 쿠키가 하나도 없으면 null */
+        static AuthCookies scan(HttpServletRequest request) {
+            Cookie[] all = request.getCookies();
+            if (all == null) return null;
+
+            AuthCookies found = null;
+            for (Cookie c : all) {
+                String name = c.getName();
+                if (!isAuthCookie(name)) continue;
+                if (found == null) found = new AuthCookies();
+                // 같은 이름이 여럿이면 먼저 온 것 (경로가 더 구체적인 쿠키가 앞에 온다)
+                switch (name) {
+                    case CookieFactory.USER_ACCESS_COOKIE -> {
+                        if (found.userAccess == null) found.userAccess = c.getValue();
+                    }
+                    case CookieFactory.USER_REFRESH_COOKIE -> {
+                        if (found.userRefresh == null) found.userRefresh = c.getValue();
+                    }
+                    case CookieFactory.ADMIN_ACCESS_COOKIE -> {
+                        if (found.adminAccess == null) found.adminAccess = c.getValue();
+                    }
+                    case CookieFactory.ADMIN_REFRESH_COOKIE -> {
+                        if (found.adminRefresh == null) found.adminRefresh = c.getValue();
+                    }
+                    default -> { }
+                }
+            }
+            return found;
+        }
+
+        private static boolean isAuthCookie(String name) {
+            return name.startsWith("user_") || name.startsWith("admin_");
+        }
+
+        // 관리자 경로는 관리자 쿠키만, 공용 경로는 유저 -> 관리자 순
+        String access(Route route) {
+            if (route == Route.ADMIN) return adminAccess;
+            return userAccess != null ? userAccess : adminAccess;
+        }
+
+        String refresh(Route route) {
+            if (route == Route.ADMIN) return adminRefresh;
+            return userRefresh != null ? userRefresh : adminRefresh;
         }
-        // 공용 경로: 유저 -> 관리자 순 확인
-        String token = getCookieValue(request, userCookieName);
-        if (token != null) return token;
-        return getCookieValue(request, adminCookieName);
     }
 
+    /**
+     * 클레임만으로 principal 을 만든다. 폐기 목록에 걸리면(오탐 포함) DB 의 현재 버전과 비교해
+     * 다르면 null → 액세스 토큰 무효 처리되어 리프레시 경로에서 상태를 다시 확인한다.
+     */
+    private UserDetails statelessPrincipal(JwtService.JwtPayload p) {
+        if (p.status() != UserStatus.ACTIVE) return null;
+        if (revocationList.mightBeRevoked(p.userId(), p.principalVersion())) {
+            CustomUserDetails current = (CustomUserDetails) loadCachedByRoles(p.subject(), p.roles());
+            return current.getPrincipalVersion() == p.principalVersion() ? current : null;
+        }
+        return userDetailsService.fromClaims(p.userId(), p.subject(), p.status(), p.principalVersion());
+    }
+
+    // 액세스 토큰 인증은 요청마다 일어나므로 사용자는 캐시 (관리자는 항상 DB)
+    private UserDetails loadCachedByRoles(String username, List<String> roles) {
+        if (roles != null && roles.contains("ROLE_ADMIN")) {
+            return adminDetailsService.loadUserByUsername(username);
+        }
+        // 다른 인스턴스에서 상태가 바뀐 사용자(폐기 목록)는 캐시가 DB 에서 다시 읽는다
+        PrincipalCache.Snapshot s = principalCache.getUser(username, () -> loadSnapshot(username));
+        return userDetailsService.fromClaims(s.userId(), s.username(), s.status(), s.principalVersion());
+    }
+
+    private PrincipalCache.Snapshot loadSnapshot(String username) {
+        return PrincipalCache.Snapshot.of((CustomUserDetails) userDetailsService.loadUserByUsername(username));
+    }
+
+    // 재발급은 드물고 새 토큰을 내주므로 항상 DB 에서 다시 확인
     private UserDetails loadByRoles(String username, List<String> roles) {
         if (roles != null && roles.contains("ROLE_ADMIN")) {
             return adminDetailsService.loadUserByUsername(username);
@@ -140,9 +239,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return userDetailsService.loadUserByUsername(username);
     }
 
-    private void setAuthentication(HttpServletRequest request, UserDetails user) {
+    // details(원격 주소/세션 ID)는 아무도 읽지 않아 만들지 않는다
+    private void setAuthentication(UserDetails user) {
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(auth);
     }
 
@@ -150,15 +249,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return SecurityContextHolder.getContext().getAuthentication() != null;
     }
 
-    private boolean isWhitelisted(String uri) {
-        return WHITELIST_PREFIXES.stream().anyMatch(uri::startsWith);
-    }
-
-    private String getCookieValue(HttpServletRequest request, String name) {
-        if (request.getCookies() == null) return null;
-        for (Cookie c : request.getCookies()) {
-            if (name.equals(c.getName())) return c.getValue();
-        }
-        return null;
-    }
 }
\ No newline at end of file
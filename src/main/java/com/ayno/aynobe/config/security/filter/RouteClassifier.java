@@ -0,0 +1,63 @@
+package com.ayno.aynobe.config.security.filter;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 요청 URI 를 접두사 트라이로 한 번에 분류한다 (JWT 필터용).
+ *
+ * - 트라이는 시작할 때 한 번 만들고, 분류는 URI 문자를 따라 내려가기만 한다 (할당 없음)
+ * - 여러 접두사가 맞으면 가장 긴 것 ("/api/admin/auth" 는 ADMIN 이 아니라 WHITELISTED)
+ */
+final class RouteClassifier {
+
+    enum Route {
+        WHITELISTED, // 인증 처리 생략
+        ADMIN,       // 관리자 쿠키만 본다
+        COMMON       // 유저 → 관리자 쿠키 순
+    }
+
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        Route route;
+
+        Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) return children[i];
+            }
+            return null;
+        }
+
+        Node addChild(char c) {
+            Node existing = child(c);
+            if (existing != null) return existing;
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            return children[children.length - 1] = new Node();
+        }
+    }
+
+    private final Node root = new Node();
+
+    RouteClassifier(Map<String, Route> prefixes) {
+        prefixes.forEach((prefix, route) -> {
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.addChild(prefix.charAt(i));
+            }
+            node.route = route;
+        });
+    }
+
+    Route classify(String uri) {
+        Route matched = Route.COMMON;
+        Node node = root;
+        for (int i = 0; i < uri.length() && node != null; i++) {
+            node = node.child(uri.charAt(i));
+            if (node != null && node.route != null) matched = node.route;
+        }
+        return matched;
+    }
+}
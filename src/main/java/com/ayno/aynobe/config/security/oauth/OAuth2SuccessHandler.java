@@ -2,6 +2,7 @@ package com.ayno.aynobe.config.security.oauth;
 
 import com.ayno.aynobe.config.security.CustomUserDetails;
 import com.ayno.aynobe.config.security.service.JwtService;
+import com.ayno.aynobe.config.security.service.RefreshTokenService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
 
     private final JwtService jwtService;
     private final CookieFactory cookieFactory;
+    private final RefreshTokenService refreshTokenService;
 
     @Value("${app.env:local}") private String appEnv; // local | dev | prod
 
@@ -36,7 +38,7 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
         CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
 
         String access  = jwtService.generateAccessToken(principal);
-        String refresh = jwtService.generateRefreshToken(principal);
+        String refresh = refreshTokenService.issue(principal, false);
 
         response.addHeader(HttpHeaders.SET_COOKIE, cookieFactory.createUserAccess(access).toString());
         response.addHeader(HttpHeaders.SET_COOKIE, cookieFactory.createUserRefresh(refresh).toString());
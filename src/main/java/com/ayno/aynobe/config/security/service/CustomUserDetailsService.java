@@ -33,4 +33,13 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return new CustomUserDetails(user);
     }
+
+    /**
+     * stateless 액세스 토큰의 클레임으로 principal 을 만든다 (DB 조회 없음).
+     * User 가 필요해지면 프록시(getReferenceById)만 얻고, id 외의 값을 읽을 때 실제로 조회된다 (open-in-view 세션 안).
+     */
+    public CustomUserDetails fromClaims(Long userId, String username, UserStatus status, long principalVersion) {
+        return CustomUserDetails.fromClaims(userId, username, status, principalVersion,
+                () -> userRepository.getReferenceById(userId));
+    }
 }
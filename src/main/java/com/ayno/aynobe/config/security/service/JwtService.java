@@ -1,6 +1,8 @@
 package com.ayno.aynobe.config.security.service;
 
 import com.ayno.aynobe.config.exception.CustomException;
+import com.ayno.aynobe.config.security.CustomUserDetails;
+import com.ayno.aynobe.entity.enums.UserStatus;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -10,8 +12,14 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class JwtService {
@@ -19,6 +27,10 @@ public class JwtService {
     @Value("${jwt.secret}")
     private String secretKey;
 
+    // 켜면 사용자 액세스 토큰에 uid/st/pv 를 담아 필터가 DB 없이 principal 을 만든다
+    @Value("${app.auth.stateless-access-token:false}")
+    private boolean statelessAccessToken;
+
     private static final long ACCESS_EXP_MS  = 1000L * 60 * 15;         // 15분
     private static final long REFRESH_EXP_MS = 1000L * 60 * 60 * 24 * 7; // 7일
 
@@ -26,6 +38,31 @@ public class JwtService {
     private Key signKey;
     private JwtParser jwtParser;
 
+    /*
+     * 검증 완료된 액세스 토큰 메모 (같은 토큰이 만료까지 요청마다 다시 오므로 HMAC + JSON 파싱을 한 번만).
+     * - 키: 토큰의 SHA-256 ({@link #digest}) → 토큰 원문을 메모리에 들고 있지 않고, 키 비교도 고정 길이 해시끼리
+     *   (HMAC 검증 + JSON 파싱보다 해시 한 번이 훨씬 싸다)
+     * - 잠금 없는 ConcurrentHashMap. 꺼낼 때 만료를 다시 확인하고, 상한에 닿으면 만료된 것부터 걷어낸다
+     *   (걷어내기는 초당 한 번까지, 그래도 가득이면 새 토큰은 메모하지 않고 매번 검증)
+     */
+    private record VerifiedToken(JwtPayload payload, long expiresAt) { }
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private static final long PURGE_INTERVAL_MS = 1000;
+
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+
+    @Value("${app.jwt.verify-cache.max-entries:20000}")
+    private int verifyCacheMaxEntries;
+
     @PostConstruct
     void init() {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
@@ -42,7 +79,21 @@ public class JwtService {
         return generateToken(principal, REFRESH_EXP_MS, "refresh");
     }
 
+    /** 회전 저장소용: 같은 로그인 계열(fam)과 고유 ID(jti)를 담는다 */
+    public String generateRefreshToken(UserDetails principal, String familyId) {
+        return generateToken(principal, REFRESH_EXP_MS, "refresh",
+                Map.of("fam", familyId, "jti", UUID.randomUUID().toString()));
+    }
+
+    public Duration refreshTokenTtl() {
+        return Duration.ofMillis(REFRESH_EXP_MS);
+    }
+
     private String generateToken(UserDetails subject, long expMillis, String tokenType) {
+        return generateToken(subject, expMillis, tokenType, Map.of());
+    }
+
+    private String generateToken(UserDetails subject, long expMillis, String tokenType, Map<String, Object> extraClaims) {
         long now = System.currentTimeMillis();
         // 권한을 문자열로 저장 (ROLE_USER, ROLE_ADMIN ...)
         List<String> roles = subject.getAuthorities().stream()
@@ -52,6 +103,12 @@ public class JwtService {
         Map<String, Object> claims = new HashMap<>();
         claims.put("roles", roles);
         claims.put("token_type", tokenType);
+        claims.putAll(extraClaims);
+        if (statelessAccessToken && "access".equals(tokenType) && subject instanceof CustomUserDetails user) {
+            claims.put("uid", user.getUserId());
+            claims.put("st", user.getStatus().name());
+            claims.put("pv", user.getPrincipalVersion());
+        }
 
         return Jwts.builder()
                 .setClaims(claims)
@@ -63,9 +120,54 @@ public class JwtService {
     }
 
     // 파싱
-    public record JwtPayload(String subject, List<String> roles, Date expiration, String tokenType) { }
+    public record JwtPayload(String subject, List<String> roles, Date expiration, String tokenType,
+                             Long userId, UserStatus status, Long principalVersion, String familyId) {
+
+        /** uid/st/pv 클레임이 다 있는 사용자 액세스 토큰 */
+        public boolean stateless() {
+            return "access".equals(tokenType) && userId != null && status != null && principalVersion != null
+                    && !roles.contains("ROLE_ADMIN");
+        }
+    }
 
     public JwtPayload payload(String token) throws JwtException {
+        String key = digest(token);
+        VerifiedToken hit = verified.get(key);
+        if (hit != null) {
+            if (hit.expiresAt() > System.currentTimeMillis()) return hit.payload();
+            verified.remove(key, hit); // 만료 → 아래에서 파싱하며 ExpiredJwtException
+        }
+
+        JwtPayload parsed = parse(token);
+        if ("access".equals(parsed.tokenType()) && parsed.expiration() != null && hasRoomForVerified()) {
+            verified.put(key, new VerifiedToken(parsed, parsed.expiration().getTime()));
+        }
+        return parsed;
+    }
+
+    // 상한에 닿으면 만료된 항목을 걷어낸다 (여러 스레드가 동시에 훑지 않도록 한 스레드만, 초당 한 번까지)
+    private boolean hasRoomForVerified() {
+        if (verified.size() < verifyCacheMaxEntries) return true;
+        long now = System.currentTimeMillis();
+        long next = nextPurgeAt.get();
+        if (now >= next && nextPurgeAt.compareAndSet(next, now + PURGE_INTERVAL_MS)) {
+            verified.values().removeIf(v -> v.expiresAt() <= now);
+        }
+        return verified.size() < verifyCacheMaxEntries;
+    }
+
+    int verifiedSize() {
+        return verified.size();
+    }
+
+    /** 토큰 전체의 SHA-256 (base64) — 리프레시 토큰 저장소 키, 검증 메모 키 */
+    static String digest(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private JwtPayload parse(String token) throws JwtException {
         var body = jwtParser.parseClaimsJws(token).getBody();
         String subject = body.getSubject();
         Date exp = body.getExpiration();
@@ -78,7 +180,20 @@ public class JwtService {
                 ? list.stream().map(String::valueOf).toList()
                 : List.of();
 
-        return new JwtPayload(subject, roles, exp, tokenType);
+        Object st = body.get("st");
+        UserStatus status = (st == null) ? null : UserStatus.valueOf(String.valueOf(st));
+
+        return new JwtPayload(subject, roles, exp, tokenType,
+                asLong(body.get("uid")), status, asLong(body.get("pv")),
+                body.get("fam") == null ? null : String.valueOf(body.get("fam")));
+    }
+
+    public boolean statelessEnabled() {
+        return statelessAccessToken;
+    }
+
+    private static Long asLong(Object v) {
+        return (v instanceof Number n) ? n.longValue() : null;
     }
 
     public boolean isTokenValid(JwtPayload p, UserDetails user) {
@@ -0,0 +1,124 @@
+package com.ayno.aynobe.config.security.service;
+
+import com.ayno.aynobe.config.security.CustomUserDetails;
+import com.ayno.aynobe.entity.enums.UserStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 액세스 토큰 인증 때 쓰는 사용자 principal 캐시 (요청마다 users 조회를 없앤다).
+ *
+ * - 키: username, 개수(LRU) + TTL 상한
+ * - 엔티티가 아니라 인증에 필요한 값만 담은 불변 {@link Snapshot} 을 넣는다 → 요청마다 새 principal 을 만들고
+ *   User 엔티티는 그 요청 안에서 필요할 때 로드된다 (스레드 간 엔티티 공유 없음)
+ * - 정상적으로 로드된 사용자만 넣는다 (차단/탈퇴 예외는 캐시하지 않음)
+ * - 이 인스턴스의 상태/프로필 변경은 커밋 후 {@link #evictUser} 로 바로 무효화
+ * - 다른 인스턴스의 상태 변경은 꺼낼 때 {@link PrincipalRevocationList} 로 확인한다 (폐기 목록 갱신 주기 안에 반영)
+ *   걸리면 DB 에서 다시 읽고, 항목에 읽기 직전의 목록 epoch 을 남긴다 → 같은 목록에 또 걸려도(오탐) 다시 읽지 않는다
+ * - 관리자는 요청이 적고 상태 변경 경로도 없어 캐시하지 않는다 (DB 를 직접 바꿔도 다음 요청부터 반영)
+ * - 조회 도중 그 사용자가 무효화됐으면 그 결과는 넣지 않는다 (무효화 시점은 사용자별로 남겨 다른 사용자의 채우기는 버리지 않는다)
+ * - 지표: auth.principal.cache{result=hit|miss|revoked}, auth.principal.cache.size
+ */
+@Component
+public class PrincipalCache {
+
+    /** 캐시에 두는 인증 정보 (불변) */
+    public record Snapshot(Long userId, String username, UserStatus status, long principalVersion) {
+        public static Snapshot of(CustomUserDetails details) {
+            return new Snapshot(details.getUserId(), details.getUsername(), details.getStatus(), details.getPrincipalVersion());
+        }
+    }
+
+    /** @param verifiedEpoch DB 에서 읽기 직전의 폐기 목록 epoch */
+    private record Entry(Snapshot snapshot, long expiresAt, long verifiedEpoch) {
+    }
+
+    private final PrincipalRevocationList revocationList;
+    private final long ttlMillis;
+    private final int maxStamps;
+    private final Map<String, Entry> entries;
+    private final AtomicLong clock = new AtomicLong();
+    // 사용자별 마지막 무효화 시점 (clock 값). entries 락으로 보호
+    private final Map<String, Long> stamps = new HashMap<>();
+    private long purgedUpTo; // 이 시점 이전의 기록은 지웠다 → 그보다 먼저 시작한 조회는 넣지 않는다
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter revoked;
+
+    public PrincipalCache(
+            MeterRegistry meterRegistry,
+            PrincipalRevocationList revocationList,
+            @Value("${app.cache.principal.max-entries:10000}") int maxEntries,
+            @Value("${app.cache.principal.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.revocationList = revocationList;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxStamps = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("auth.principal.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.principal.cache").tag("result", "miss").register(meterRegistry);
+        this.revoked = Counter.builder("auth.principal.cache").tag("result", "revoked").register(meterRegistry);
+        Gauge.builder("auth.principal.cache.size", this, PrincipalCache::size).register(meterRegistry);
+    }
+
+    public Snapshot getUser(String username, Supplier<Snapshot> loader) {
+        long now = System.currentTimeMillis();
+        long loadedAt;
+        synchronized (entries) {
+            Entry e = entries.get(username);
+            if (e != null && e.expiresAt() >= now) {
+                Snapshot s = e.snapshot();
+                if (!revocationList.mightBeRevoked(s.userId(), s.principalVersion(), e.verifiedEpoch())) {
+                    hits.increment();
+                    return s;
+                }
+                revoked.increment(); // 다른 인스턴스에서 상태가 바뀐 사용자(오탐 포함) → DB 에서 다시
+            } else {
+                misses.increment();
+            }
+            if (e != null) entries.remove(username);
+            loadedAt = clock.get();
+        }
+
+        long epoch = revocationList.epoch();
+        Snapshot snapshot = loader.get(); // 차단/탈퇴 등 예외는 그대로 던진다
+        synchronized (entries) {
+            // 조회 중 이 사용자가 무효화됨 → 오래된 값일 수 있음
+            if (loadedAt >= purgedUpTo && stamps.getOrDefault(username, 0L) <= loadedAt) {
+                entries.put(username, new Entry(snapshot, System.currentTimeMillis() + ttlMillis, epoch));
+            }
+        }
+        return snapshot;
+    }
+
+    public void evictUser(String username) {
+        synchronized (entries) {
+            stamps.put(username, clock.incrementAndGet());
+            entries.remove(username);
+            if (stamps.size() > maxStamps) { // 기록은 진행 중인 조회에만 의미가 있다
+                stamps.clear();
+                purgedUpTo = clock.get();
+            }
+        }
+    }
+
+    private double size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ayno.aynobe.config.security.service;
+
+import com.ayno.aynobe.config.util.BloomFilter;
+import com.ayno.aynobe.dto.user.PrincipalVersionDTO;
+import com.ayno.aynobe.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * stateless 액세스 토큰용 폐기 목록.
+ *
+ * - 액세스 토큰 수명 안에 상태가 바뀐(principalVersion 이 오른) 사용자의 이전 버전들을 "userId:version" 으로 블룸 필터에 담는다
+ * - mightBeRevoked == false 면 DB 없이 통과, true(오탐 포함)면 필터가 DB 로 현재 버전을 확인한다
+ * - 주기적으로 DB 에서 다시 만들고, 이 인스턴스에서 상태를 바꾸면 커밋 직후 바로 다시 만든다
+ * - 필터는 통째로 교체만 하므로 읽는 쪽은 잠금 없이 본다
+ * - 갱신마다 epoch 가 오른다. epoch E 의 목록이 나온 뒤 DB 에서 읽은 버전이 그 목록에 걸리면 오탐이다
+ *   (버전은 오르기만 하므로) → {@link #mightBeRevoked(Long, long, long)} 로 같은 목록에서 다시 의심하지 않는다
+ */
+@Slf4j
+@Component
+public class PrincipalRevocationList {
+
+    // 토큰 수명 동안 한 사용자의 상태가 이보다 많이 바뀌는 경우는 없다고 본다
+    private static final int MAX_VERSIONS_PER_USER = 8;
+
+    private final UserRepository userRepository;
+    private final Duration window;
+    private final double falsePositiveRate;
+
+    // 필터와 epoch 을 한 번에 교체 → 읽는 쪽이 서로 다른 갱신의 값을 섞어 보지 않는다
+    private record Published(BloomFilter filter, long epoch) {
+    }
+
+    private final AtomicLong epochs = new AtomicLong();
+    private volatile Published published = new Published(BloomFilter.create(1, 0.01, 0), 0);
+
+    public PrincipalRevocationList(
+            UserRepository userRepository,
+            @Value("${app.auth.revocation.window-seconds:960}") long windowSeconds, // 액세스 토큰 15분 + 여유
+            @Value("${app.auth.revocation.fpp:0.001}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation.refresh-ms:30000}")
+    public void refresh() {
+        List<PrincipalVersionDTO> changes = userRepository.findPrincipalChangesSince(LocalDateTime.now().minus(window));
+
+        BloomFilter filter = BloomFilter.create(
+                (long) changes.size() * MAX_VERSIONS_PER_USER, falsePositiveRate, System.nanoTime());
+        for (PrincipalVersionDTO c : changes) {
+            for (long v = Math.max(0, c.principalVersion() - MAX_VERSIONS_PER_USER); v < c.principalVersion(); v++) {
+                filter.put(key(c.userId(), v));
+            }
+        }
+        this.published = new Published(filter, epochs.incrementAndGet());
+        if (!changes.isEmpty()) {
+            log.debug("[AUTH] 폐기 목록 갱신 users={} entries={}", changes.size(), filter.inserted());
+        }
+    }
+
+    public boolean mightBeRevoked(Long userId, long principalVersion) {
+        return published.filter().mightContain(key(userId, principalVersion));
+    }
+
+    /**
+     * @param verifiedEpoch 이 버전을 DB 에서 읽기 직전의 {@link #epoch()}
+     * @return 그 뒤로 목록이 갱신되지 않았으면 false (DB 로 확인한 버전이라 걸려도 오탐)
+     */
+    public boolean mightBeRevoked(Long userId, long principalVersion, long verifiedEpoch) {
+        Published p = published;
+        return p.epoch() != verifiedEpoch && p.filter().mightContain(key(userId, principalVersion));
+    }
+
+    public long epoch() {
+        return published.epoch();
+    }
+
+    private static String key(Long userId, long version) {
+        return userId + ":" + version;
+    }
+}
@@ -0,0 +1,178 @@
+package com.ayno.aynobe.config.security.service;
+
+import com.ayno.aynobe.entity.RefreshToken;
+import com.ayno.aynobe.repository.RefreshTokenRepository;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 리프레시 토큰 저장소 (회전 + 재사용 탐지 + 폐기).
+ *
+ * - 발급한 토큰은 해시로 refresh_token 에 저장, 재발급할 때마다 새 토큰으로 교체(회전)한다
+ * - 이미 회전된 토큰이 graceWindow 이후에 다시 오면 탈취로 보고 같은 계열(family) 전체를 폐기
+ * - 같은 토큰으로 동시에 들어온 재발급은 이 인스턴스 안에서 하나로 합친다 (single-flight)
+ *   → 병렬 API 호출 10개가 만료를 동시에 만나도 서명/조회/회전은 한 번, 결과(쿠키)는 공유
+ * - 다른 인스턴스가 방금(graceWindow 안) 회전했으면 탈취로 보지 않고 액세스 토큰만 새로 준다
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    /** 재발급 결과. refreshToken 이 null 이면 리프레시 쿠키는 그대로 둔다. */
+    public record Reissued(UserDetails principal, String accessToken, String refreshToken) { }
+
+    private record Flight(CompletableFuture<Reissued> result, long startedAt) { }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+    private final TransactionTemplate transactionTemplate;
+    private final long graceWindowMs;
+
+    // 토큰 해시 → 진행 중이거나 방금 끝난 재발급 (graceWindow 동안 같은 결과를 돌려준다)
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JwtService jwtService,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${app.auth.refresh.grace-ms:10000}") long graceWindowMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtService = jwtService;
+        this.transactionTemplate = transactionTemplate;
+        this.graceWindowMs = graceWindowMs;
+    }
+
+    /** 로그인 시 새 계열로 리프레시 토큰 발급 */
+    @Transactional
+    public String issue(UserDetails principal, boolean admin) {
+        return issueInFamily(principal, admin, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 리프레시 토큰으로 재발급. 같은 토큰의 동시 요청은 결과를 공유한다.
+     * @param principalLoader 계정 상태를 DB 에서 다시 확인하며 principal 을 만든다 (차단이면 예외)
+     * @throws JwtException 저장소에 없거나 폐기/재사용된 토큰
+     */
+    public Reissued reissue(String refreshToken, JwtService.JwtPayload info, Supplier<UserDetails> principalLoader) {
+        String hash = JwtService.digest(refreshToken);
+        long now = System.currentTimeMillis();
+        Flight mine = new Flight(new CompletableFuture<>(), now);
+        Flight flight = flights.compute(hash, (k, f) ->
+                (f != null && now - f.startedAt() < graceWindowMs) ? f : mine);
+
+        if (flight != mine) {
+            try {
+                return flight.result().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw e;
+            }
+        }
+
+        try {
+            Reissued result = transactionTemplate.execute(status -> rotate(hash, info, principalLoader));
+            if (result == null) {
+                // 재사용 탐지: 계열 폐기는 위 트랜잭션에서 이미 커밋됨
+                throw new JwtException("재사용된 리프레시 토큰");
+            }
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            flights.remove(hash, mine); // 실패는 붙잡아 두지 않는다
+            throw e;
+        }
+    }
+
+    /** 계정 차단 등: 해당 사용자의 모든 리프레시 토큰 폐기 (호출자 트랜잭션 안) */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void revokeAll(String subject, boolean admin) {
+        refreshTokenRepository.revokeAllBySubject(subject, admin, LocalDateTime.now());
+    }
+
+    /**
+     * @return 재사용이 탐지되면 null. 계열 폐기가 롤백되지 않고 커밋되도록 예외 대신 null 을 돌려주고
+     *         호출자가 트랜잭션이 끝난 뒤 실패로 처리한다
+     */
+    private Reissued rotate(String hash, JwtService.JwtPayload info, Supplier<UserDetails> principalLoader) {
+        boolean admin = info.roles().contains("ROLE_ADMIN");
+        LocalDateTime now = LocalDateTime.now();
+
+        RefreshToken stored = refreshTokenRepository.findForUpdate(hash).orElse(null);
+        if (stored == null) {
+            if (info.familyId() != null) {
+                throw new JwtException("등록되지 않은 리프레시 토큰");
+            }
+            // 저장소 도입 전에 발급된 토큰: 이 토큰을 회전된 상태로 기록하고 새 계열로 갈아탄다
+            // → 같은 토큰이 다시 오면 위 조회에 걸려 다른 토큰처럼 재사용으로 처리된다
+            UserDetails principal = principalLoader.get();
+            String familyId = UUID.randomUUID().toString();
+            RefreshToken legacy = RefreshToken.of(hash, familyId, principal.getUsername(), admin,
+                    LocalDateTime.ofInstant(info.expiration().toInstant(), ZoneId.systemDefault()));
+            legacy.rotate(now);
+            refreshTokenRepository.save(legacy);
+            return new Reissued(principal, jwtService.generateAccessToken(principal),
+                    issueInFamily(principal, admin, familyId));
+        }
+        if (stored.isRevoked()) {
+            throw new JwtException("폐기된 리프레시 토큰");
+        }
+
+        if (stored.isRotated()) {
+            if (Duration.between(stored.getRotatedAt(), now).toMillis() < graceWindowMs) {
+                // 다른 인스턴스/요청이 방금 회전함 → 새 리프레시 쿠키는 그쪽 응답이 준다
+                UserDetails principal = principalLoader.get();
+                return new Reissued(principal, jwtService.generateAccessToken(principal), null);
+            }
+            refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+            log.warn("[AUTH] 리프레시 토큰 재사용 감지 → 계열 폐기 subject={} family={}",
+                    stored.getSubject(), stored.getFamilyId());
+            return null;
+        }
+
+        UserDetails principal = principalLoader.get();
+        stored.rotate(now);
+        return new Reissued(principal, jwtService.generateAccessToken(principal),
+                issueInFamily(principal, admin, stored.getFamilyId()));
+    }
+
+    private String issueInFamily(UserDetails principal, boolean admin, String familyId) {
+        String token = jwtService.generateRefreshToken(principal, familyId);
+        refreshTokenRepository.save(RefreshToken.of(
+                JwtService.digest(token), familyId, principal.getUsername(), admin,
+                LocalDateTime.now().plus(jwtService.refreshTokenTtl())));
+        return token;
+    }
+
+    /** 끝난 single-flight 항목 정리 */
+    @Scheduled(fixedDelayString = "${app.auth.refresh.flight-purge-ms:60000}")
+    public void purgeFlights() {
+        long now = System.currentTimeMillis();
+        flights.values().removeIf(f -> f.result().isDone() && now - f.startedAt() >= graceWindowMs);
+    }
+
+    /** 만료된 토큰 행 삭제 (매일 새벽 4시) */
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status -> refreshTokenRepository.deleteExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("[AUTH] 만료된 리프레시 토큰 {}건 삭제", deleted);
+        }
+    }
+}
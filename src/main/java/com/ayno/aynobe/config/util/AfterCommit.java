@@ -0,0 +1,29 @@
+package com.ayno.aynobe.config.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 현재 트랜잭션이 커밋된 뒤에 실행할 작업을 등록한다.
+ * (롤백되면 실행하지 않음, 트랜잭션 밖이면 즉시 실행)
+ *
+ * - 인메모리 인덱스/캐시처럼 DB 밖 상태를 DB 변경과 맞출 때 사용
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.ayno.aynobe.config.util;
+
+/**
+ * 문자열용 간단한 블룸 필터 (스레드 안전하지 않음: 한 스레드에서 다 채운 뒤 읽기만 공유).
+ *
+ * - mightContain == false 이면 "확실히 없음", true 이면 "있을 수도 있음"
+ * - 비트 수/해시 수는 예상 개수와 목표 오탐률로 계산 (1% 기준 키당 약 9.6bit → 1천만 키 ≈ 12MB)
+ * - 해시: 64bit FNV-1a + fmix64 한 번 → 상/하위 32bit 로 이중 해싱 (h1 + i*h2)
+ * - seed 를 실행마다 바꾸면 오탐되는 키도 실행마다 달라진다
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitSize;
+    private final int hashCount;
+    private final long seed;
+    private long inserted;
+
+    private BloomFilter(long bitSize, int hashCount, long seed) {
+        this.bits = new long[(int) ((bitSize + 63) >>> 6)];
+        this.bitSize = (long) bits.length << 6;
+        this.hashCount = hashCount;
+        this.seed = seed;
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate, long seed) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate 는 0 과 1 사이여야 합니다: " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedInsertions);
+        // m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long m = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        if (m > (long) Integer.MAX_VALUE << 6) {
+            throw new IllegalArgumentException("블룸 필터가 너무 큽니다: " + m + " bits");
+        }
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(m, k, seed);
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitSize);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+        inserted++;
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitSize);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) return false;
+        }
+        return true;
+    }
+
+    public long inserted() {
+        return inserted;
+    }
+
+    public long sizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    /** 현재 채워진 정도 기준 오탐률 추정치 (1 - e^(-kn/m))^k */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * inserted / bitSize), hashCount);
+    }
+
+    private long hash(String value) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        // fmix64 (MurmurHash3) — FNV 하위 비트 편향 보정
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec5L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
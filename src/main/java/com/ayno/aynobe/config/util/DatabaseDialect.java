@@ -0,0 +1,31 @@
+package com.ayno.aynobe.config.util;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * 연결된 DB 종류 (운영: MySQL, 로컬/테스트: H2).
+ * upsert 처럼 방언마다 문법이 다른 네이티브 SQL 을 고를 때 사용한다.
+ */
+@Component
+public class DatabaseDialect {
+
+    private final boolean mysql;
+
+    public DatabaseDialect(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con ->
+                con.getMetaData().getDatabaseProductName());
+        this.mysql = product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+
+    public boolean isMySql() {
+        return mysql;
+    }
+
+    public boolean isH2() {
+        return !mysql;
+    }
+}
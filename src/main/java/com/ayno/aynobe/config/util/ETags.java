@@ -0,0 +1,32 @@
+package com.ayno.aynobe.config.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.StringJoiner;
+
+/**
+ * 조건부 GET(If-None-Match)용 ETag 생성.
+ * 버전/수정 시각 등 응답 본문을 결정하는 값만 이어 붙인다. (본문 직렬화 없이 계산)
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /** 강한 ETag: "a-12-3-1700000000000" */
+    public static String strong(Object... parts) {
+        StringJoiner joiner = new StringJoiner("-", "\"", "\"");
+        for (Object part : parts) {
+            joiner.add(format(part));
+        }
+        return joiner.toString();
+    }
+
+    private static String format(Object part) {
+        if (part == null) return "0";
+        if (part instanceof LocalDateTime t) {
+            return Long.toString(t.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        return part.toString();
+    }
+}
@@ -1,68 +1,254 @@
 package com.ayno.aynobe.config.util;
 
+import com.ayno.aynobe.config.exception.CustomException;
+import com.ayno.aynobe.config.util.image.ImageVariant;
+import com.ayno.aynobe.config.util.image.JpegVariantEncoder;
+import com.ayno.aynobe.config.util.image.VariantEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
-import java.util.LinkedHashMap;
+import java.nio.file.Path;
+import java.util.*;
 import java.util.List;
-import java.util.Map;
-
-import org.springframework.stereotype.Component;
-
-import java.awt.*;
-import java.io.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * 업로드된 원본 이미지를 주어진 가로 폭들(예: 320/800/1600)에 맞춰
- * 비율을 유지하며 JPEG 바이트 배열로 리사이즈한다.
+ * 비율을 유지하며 파생 이미지 바이트로 리사이즈한다.
  *
- * - 입력: 원본 바이트, 생성할 가로폭 목록
- * - 출력: {가로폭 → JPEG 바이트} 맵
- * - 품질을 더 제어하려면 ImageWriter/JPEGImageWriteParam으로 확장 가능
+ * - 입력: 원본 파일(또는 스트림/바이트), 생성할 파생 목록(폭 + 인코더)
+ * - 출력: 인코딩 결과를 하나씩 {@link EncodedSink} 로 넘긴다 (맵 반환 버전은 작은 입력/편의용)
+ * - 인코딩 버퍼는 고정 개수만 풀에 두고 빌려 쓰는 {@link SpillBuffer} → 결과가 커도 힙은 상한까지만 쓰고 나머지는 임시 파일
+ *   (요청 스레드에서도 리사이즈가 돌기 때문에 스레드마다 두면 톰캣 스레드 수만큼 버퍼가 남는다)
+ * - 원본은 한 번만 디코딩하고, 큰 폭부터 만든 결과를 다음(더 작은) 폭의 입력으로 재사용한다 (1600→800→320)
+ * - 같은 폭의 여러 포맷은 한 번 축소한 이미지를 포맷별로 인코딩만 다시 한다
+ * - 디코딩 시 가장 큰 목표 폭을 만족하는 한도에서 서브샘플링 → 원본 전체 해상도를 메모리에 올리지 않는다
+ * - renderSquares: 가운데 정사각으로 잘라 고정 크기(프로필 아바타 등)로 만든다
+ * - 헤더의 가로x세로가 maxPixels 를 넘으면 디코딩 전에 거절 (압축 폭탄 방지)
+ * - 품질/프로그레시브 등 포맷별 설정은 {@link VariantEncoder} 구현에서 한다
  */
 @Component
 public final class ImageResizer {
 
+    private final JpegVariantEncoder jpegEncoder;
+    private final long maxPixels;
+    private final int encodeMemoryLimit;
+    // 재사용 인코딩 버퍼 (힙은 memoryLimit 까지만, 넘으면 임시 파일). 풀이 비면 그 호출만 쓰고 버리는 버퍼를 만든다
+    // → 계속 잡고 있는 힙은 encodeBuffers x encodeMemoryLimit 이하
+    private final BlockingQueue<SpillBuffer> buffers;
+
+    public ImageResizer(JpegVariantEncoder jpegEncoder,
+                        @Value("${app.image.max-pixels:50000000}") long maxPixels,
+                        @Value("${app.image.encode-memory-limit:4194304}") int encodeMemoryLimit,
+                        @Value("${app.image.encode-buffers:8}") int encodeBuffers) {
+        this.jpegEncoder = jpegEncoder;
+        this.maxPixels = maxPixels;
+        this.encodeMemoryLimit = encodeMemoryLimit;
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, encodeBuffers));
+    }
+
+    /**
+     * 인코딩된 결과를 받는 쪽. encoded 는 재사용 버퍼이므로 accept 안에서 다 소비해야 한다 (업로드 등).
+     */
+    @FunctionalInterface
+    public interface EncodedSink<K> {
+        void accept(K key, SpillBuffer encoded) throws IOException;
+    }
+
     public Map<Integer, byte[]> resizeSet(byte[] originalImageBytes, List<Integer> targetWidths) {
-        try (var in = new ByteArrayInputStream(originalImageBytes)) {
-            BufferedImage sourceImage = ImageIO.read(in);
-            if (sourceImage == null) {
-                throw new IOException("이미지 디코딩 실패 (지원하지 않는 포맷이거나 손상된 파일)");
-            }
+        return resizeSet(new ByteArrayInputStream(originalImageBytes), targetWidths);
+    }
 
-            Map<Integer, byte[]> result = new LinkedHashMap<>();
+    /** JPEG 으로만 만든다. 스트림은 호출자가 닫는다. */
+    public Map<Integer, byte[]> resizeSet(InputStream originalImage, List<Integer> targetWidths) {
+        List<ImageVariant> variants = targetWidths.stream()
+                .distinct()
+                .map(w -> new ImageVariant(w, jpegEncoder))
+                .toList();
+        Map<String, byte[]> rendered = renderVariants(originalImage, variants);
 
-            for (int requestedWidth : targetWidths) {
-                // 원본보다 큰 폭은 의미 없으므로 원본 폭을 상한으로 사용
-                int outputWidth = Math.min(requestedWidth, sourceImage.getWidth());
+        // 호출자가 넘긴 순서대로 돌려준다
+        Map<Integer, byte[]> result = new LinkedHashMap<>();
+        for (ImageVariant v : variants) {
+            result.put(v.width(), rendered.get(v.fileName()));
+        }
+        return result;
+    }
 
-                // 비율 유지: height = width * (원본세로/원본가로)
-                int outputHeight = (int) Math.round(
-                        sourceImage.getHeight() * (outputWidth / (double) sourceImage.getWidth())
-                );
+    /** @return 파생 파일명(w800.jpg 등) → 인코딩된 바이트. 스트림은 호출자가 닫는다. */
+    public Map<String, byte[]> renderVariants(InputStream originalImage, Collection<ImageVariant> variants) {
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        render(originalImage, variants, (v, encoded) -> result.put(v.fileName(), encoded.toByteArray()));
+        return result;
+    }
+
+    /** 원본 파일에서 파생을 만들어 하나씩 sink 로 넘긴다 (결과를 모아두지 않음). */
+    public void renderVariants(Path originalImage, Collection<ImageVariant> variants, EncodedSink<ImageVariant> sink) {
+        render(originalImage.toFile(), variants, sink);
+    }
+
+    /** @param source ImageIO.createImageInputStream 이 받는 입력 (File 이면 임의 접근, 캐시 없음) */
+    private void render(Object source, Collection<ImageVariant> variants, EncodedSink<ImageVariant> sink) {
+        if (variants.isEmpty()) return;
+
+        // 큰 폭부터 처리해야 직전 결과를 다음 축소의 입력으로 쓸 수 있다
+        Map<Integer, List<VariantEncoder>> encodersByWidth = new TreeMap<>(Comparator.reverseOrder());
+        for (ImageVariant v : variants) {
+            encodersByWidth.computeIfAbsent(v.width(), w -> new ArrayList<>()).add(v.encoder());
+        }
+
+        try {
+            Decoded decoded = decode(source, encodersByWidth.keySet().iterator().next(), false);
+
+            BufferedImage previous = decoded.image();
 
-                // RGB 24bit로 새 캔버스 생성 (알파 불필요 → TYPE_INT_RGB)
-                BufferedImage resizedImage = new BufferedImage(outputWidth, outputHeight, BufferedImage.TYPE_INT_RGB);
+            for (var entry : encodersByWidth.entrySet()) {
+                int requestedWidth = entry.getKey();
 
-                // 고급 보간으로 스케일링
-                Graphics2D g = resizedImage.createGraphics();
-                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g.drawImage(sourceImage, 0, 0, outputWidth, outputHeight, null);
-                g.dispose();
+                // 원본보다 큰 폭은 의미 없으므로 원본 폭을 상한으로 사용 (서브샘플링 후 폭도 넘지 않도록)
+                int outputWidth = Math.min(Math.min(requestedWidth, decoded.sourceWidth()), decoded.image().getWidth());
 
-                // JPEG 인코딩
-                try (var baos = new ByteArrayOutputStream()) {
-                    ImageIO.write(resizedImage, "jpg", baos);
-                    result.put(requestedWidth, baos.toByteArray());
+                // 비율 유지: height = width * (원본세로/원본가로) — 누적 오차를 피하려고 항상 원본 비율로 계산
+                int outputHeight = Math.max(1, (int) Math.round(
+                        decoded.sourceHeight() * (outputWidth / (double) decoded.sourceWidth())
+                ));
+
+                BufferedImage resizedImage = scale(previous, outputWidth, outputHeight);
+                previous = resizedImage;
+
+                for (VariantEncoder encoder : entry.getValue()) {
+                    ImageVariant variant = new ImageVariant(requestedWidth, encoder);
+                    encode(resizedImage, encoder, encoded -> sink.accept(variant, encoded));
                 }
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 리사이즈 중 오류", e);
+        }
+    }
 
-            return result;
+    /**
+     * 가운데를 정사각으로 잘라 한 변이 sizes 인 이미지들을 만든다 (원본 짧은 변보다 크게는 만들지 않음).
+     * @return 한 변 크기 → 인코딩된 바이트 (호출자가 넘긴 순서). 스트림은 호출자가 닫는다.
+     */
+    public Map<Integer, byte[]> renderSquares(InputStream originalImage, List<Integer> sizes, VariantEncoder encoder) {
+        Map<Integer, byte[]> rendered = new HashMap<>();
+        renderSquares(originalImage, sizes, encoder, (size, encoded) -> rendered.put(size, encoded.toByteArray()));
+
+        Map<Integer, byte[]> result = new LinkedHashMap<>();
+        for (int size : sizes) result.put(size, rendered.get(size));
+        return result;
+    }
+
+    /** 원본 파일에서 정사각 이미지를 만들어 큰 크기부터 하나씩 sink 로 넘긴다. */
+    public void renderSquares(Path originalImage, List<Integer> sizes, VariantEncoder encoder, EncodedSink<Integer> sink) {
+        renderSquares(originalImage.toFile(), sizes, encoder, sink);
+    }
+
+    private void renderSquares(Object source, List<Integer> sizes, VariantEncoder encoder, EncodedSink<Integer> sink) {
+        if (sizes.isEmpty()) return;
+        List<Integer> descending = sizes.stream().distinct().sorted(Comparator.reverseOrder()).toList();
+
+        try {
+            Decoded decoded = decode(source, descending.get(0), true);
+            BufferedImage image = decoded.image();
+
+            // 서브샘플링된 이미지 기준 가운데 정사각
+            int side = Math.min(image.getWidth(), image.getHeight());
+            BufferedImage previous = image.getSubimage(
+                    (image.getWidth() - side) / 2, (image.getHeight() - side) / 2, side, side);
+
+            for (int size : descending) {
+                int outputSize = Math.min(size, side);
+                BufferedImage resizedImage = scale(previous, outputSize, outputSize);
+                previous = resizedImage;
+                encode(resizedImage, encoder, encoded -> sink.accept(size, encoded));
+            }
         } catch (IOException e) {
             throw new UncheckedIOException("이미지 리사이즈 중 오류", e);
         }
     }
-}
\ No newline at end of file
+
+    /* =========== 디코딩 =========== */
+
+    private record Decoded(BufferedImage image, int sourceWidth, int sourceHeight) {
+    }
+
+    /** square 이면 짧은 변 기준으로 서브샘플링한다 (가운데를 잘라 쓸 것이므로) */
+    private Decoded decode(Object source, int largestTarget, boolean square) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(source)) {
+            if (iis == null) throw new IOException("이미지 스트림 생성 실패");
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                throw new IOException("이미지 디코딩 실패 (지원하지 않는 포맷이거나 손상된 파일)");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+
+                // 헤더만 읽어 크기 확인 → 픽셀 버퍼를 잡기 전에 거절
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw CustomException.tooLarge("이미지 해상도가 너무 큽니다: " + width + "x" + height);
+                }
+
+                // 디코딩 결과(폭 또는 짧은 변)가 가장 큰 목표 이상으로 남는 최대 간격
+                int basis = square ? Math.min(width, height) : width;
+                int factor = Math.max(1, basis / Math.max(1, largestTarget));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (factor > 1) param.setSourceSubsampling(factor, factor, 0, 0);
+
+                BufferedImage image = reader.read(0, param);
+                if (image == null) {
+                    throw new IOException("이미지 디코딩 실패 (지원하지 않는 포맷이거나 손상된 파일)");
+                }
+                return new Decoded(image, width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /* =========== 스케일/인코딩 =========== */
+
+    private static BufferedImage scale(BufferedImage source, int outputWidth, int outputHeight) {
+        // RGB 24bit로 새 캔버스 생성 (알파 불필요 → TYPE_INT_RGB)
+        BufferedImage resizedImage = new BufferedImage(outputWidth, outputHeight, BufferedImage.TYPE_INT_RGB);
+
+        // 고급 보간으로 스케일링
+        Graphics2D g = resizedImage.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.drawImage(source, 0, 0, outputWidth, outputHeight, null);
+        g.dispose();
+        return resizedImage;
+    }
+
+    private interface EncodedConsumer {
+        void accept(SpillBuffer encoded) throws IOException;
+    }
+
+    private void encode(BufferedImage image, VariantEncoder encoder, EncodedConsumer consumer) throws IOException {
+        SpillBuffer pooled = buffers.poll();
+        SpillBuffer buffer = pooled != null ? pooled : new SpillBuffer(encodeMemoryLimit);
+        try {
+            encoder.encode(image, buffer);
+            buffer.flush();
+            consumer.accept(buffer);
+        } finally {
+            buffer.reset(); // 넘친 임시 파일 정리
+            buffers.offer(buffer); // 풀이 가득 차 있으면 버린다
+        }
+    }
+}
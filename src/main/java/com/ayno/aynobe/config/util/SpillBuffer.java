@@ -0,0 +1,104 @@
+package com.ayno.aynobe.config.util;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 메모리 상한이 있는 출력 버퍼.
+ *
+ * - memoryLimit 까지는 힙에 쓰고, 넘으면 지금까지 쓴 내용과 이후 내용을 임시 파일로 옮긴다
+ * - 힙 사용량은 결과 크기와 상관없이 memoryLimit 로 고정된다
+ * - reset() 으로 재사용 (임시 파일은 삭제), close() 도 임시 파일을 지운다
+ */
+public final class SpillBuffer extends OutputStream {
+
+    private final int memoryLimit;
+    private final ExposedBuffer memory;
+    private Path file;
+    private OutputStream fileOut;
+    private long size;
+
+    public SpillBuffer(int memoryLimit) {
+        this.memoryLimit = memoryLimit;
+        this.memory = new ExposedBuffer(Math.min(memoryLimit, 64 * 1024));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (file == null && memory.size() + 1 > memoryLimit) spill();
+        if (file == null) memory.write(b);
+        else fileOut.write(b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (file == null && memory.size() + len > memoryLimit) spill();
+        if (file == null) memory.write(b, off, len);
+        else fileOut.write(b, off, len);
+        size += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (fileOut != null) fileOut.flush();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean inMemory() {
+        return file == null;
+    }
+
+    /** 지금까지 쓴 내용을 읽는 스트림 (복사 없음). 다 읽기 전에 다시 쓰거나 reset 하면 안 된다. */
+    public InputStream openInputStream() throws IOException {
+        if (file == null) return new ByteArrayInputStream(memory.buffer(), 0, memory.size());
+        fileOut.flush();
+        return new BufferedInputStream(Files.newInputStream(file));
+    }
+
+    public byte[] toByteArray() throws IOException {
+        if (file == null) return memory.toByteArray();
+        fileOut.flush();
+        return Files.readAllBytes(file);
+    }
+
+    public void reset() throws IOException {
+        memory.reset();
+        size = 0;
+        if (file != null) {
+            try {
+                fileOut.close();
+            } finally {
+                Files.deleteIfExists(file);
+                file = null;
+                fileOut = null;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reset();
+    }
+
+    private void spill() throws IOException {
+        file = Files.createTempFile("ayno-spill-", ".tmp");
+        fileOut = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        memory.writeTo(fileOut);
+        memory.reset();
+    }
+
+    private static final class ExposedBuffer extends ByteArrayOutputStream {
+        ExposedBuffer(int size) {
+            super(size);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ayno.aynobe.config.util.image;
+
+/**
+ * 파생 이미지 한 종류 (가로폭 + 인코더). 파일명은 w{폭}.{확장자}
+ */
+public record ImageVariant(int width, VariantEncoder encoder) {
+
+    public String fileName() {
+        return "w" + width + "." + encoder.extension();
+    }
+}
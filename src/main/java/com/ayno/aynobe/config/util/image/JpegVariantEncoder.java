@@ -0,0 +1,94 @@
+package com.ayno.aynobe.config.util.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.plugins.jpeg.JPEGImageWriteParam;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 기본 JPEG 인코더. 모든 클라이언트가 읽을 수 있는 폴백이라 항상 켜져 있다.
+ *
+ * - 품질(app.image.jpeg.quality)과 프로그레시브 여부를 명시적으로 지정
+ * - chroma-subsampling=false 면 4:4:4 로 저장 (텍스트/선명한 경계가 많은 이미지용, 용량은 커짐)
+ */
+@Order(0)
+@Component
+public class JpegVariantEncoder implements VariantEncoder {
+
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+
+    private final float quality;
+    private final boolean progressive;
+    private final boolean chromaSubsampling;
+
+    public JpegVariantEncoder(
+            @Value("${app.image.jpeg.quality:0.82}") float quality,
+            @Value("${app.image.jpeg.progressive:true}") boolean progressive,
+            @Value("${app.image.jpeg.chroma-subsampling:true}") boolean chromaSubsampling
+    ) {
+        this.quality = quality;
+        this.progressive = progressive;
+        this.chromaSubsampling = chromaSubsampling;
+    }
+
+    @Override
+    public String extension() {
+        return "jpg";
+    }
+
+    @Override
+    public String contentType() {
+        return "image/jpeg";
+    }
+
+    @Override
+    public boolean enabled() {
+        return true;
+    }
+
+    @Override
+    public void encode(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+
+            JPEGImageWriteParam param = new JPEGImageWriteParam(null);
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setOptimizeHuffmanTables(true);
+            if (progressive) param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+            IIOMetadata metadata = chromaSubsampling ? null : fullChromaMetadata(writer, image, param);
+            writer.write(null, new IIOImage(image, null, metadata), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /** 기본 메타데이터의 색차 성분(Cb, Cr) 샘플링 계수를 1x1 로 바꿔 4:4:4 로 만든다. */
+    private static IIOMetadata fullChromaMetadata(ImageWriter writer, BufferedImage image, ImageWriteParam param) throws IOException {
+        IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), param);
+        Element tree = (Element) metadata.getAsTree(JPEG_METADATA_FORMAT);
+        NodeList components = tree.getElementsByTagName("componentSpec");
+        for (int i = 0; i < components.getLength(); i++) {
+            Element component = (Element) components.item(i);
+            component.setAttribute("HsamplingFactor", "1");
+            component.setAttribute("VsamplingFactor", "1");
+        }
+        metadata.setFromTree(JPEG_METADATA_FORMAT, tree);
+        return metadata;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ayno.aynobe.config.util.image;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 리사이즈된 이미지를 특정 포맷으로 인코딩하는 확장 지점.
+ *
+ * - 빈으로 등록된 인코더마다 폭별 파생 파일(w{폭}.{extension})이 하나씩 생긴다
+ * - {@link #enabled()} 가 false 면 새 파생은 만들지 않지만, 삭제 대상 이름에는 계속 포함된다
+ */
+public interface VariantEncoder {
+
+    /** 파생 파일 확장자 (예: "jpg", "webp") */
+    String extension();
+
+    String contentType();
+
+    /** 설정으로 꺼져 있거나 런타임에 인코더가 없으면 false */
+    boolean enabled();
+
+    void encode(BufferedImage image, OutputStream out) throws IOException;
+}
@@ -0,0 +1,97 @@
+package com.ayno.aynobe.config.util.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * WebP 인코더. JPEG 과 같은 폭으로 w{폭}.webp 를 함께 만든다. (클라이언트는 picture/source 로 선택)
+ *
+ * - ImageIO 에 등록된 webp writer 플러그인을 사용 (webp-imageio, 네이티브 libwebp 번들)
+ * - 플러그인을 못 불러오는 환경이면 꺼진 채로 뜨고 JPEG 만 만든다
+ */
+@Slf4j
+@Order(10)
+@Component
+public class WebpVariantEncoder implements VariantEncoder {
+
+    private static final String FORMAT = "webp";
+
+    private final float quality;
+    private final boolean enabled;
+
+    public WebpVariantEncoder(
+            @Value("${app.image.webp.enabled:true}") boolean enabled,
+            @Value("${app.image.webp.quality:0.75}") float quality
+    ) {
+        this.quality = quality;
+        this.enabled = enabled && probe();
+        if (enabled && !this.enabled) {
+            log.warn("[IMAGE] webp writer 를 찾지 못해 webp 파생 생성을 끕니다");
+        }
+    }
+
+    @Override
+    public String extension() {
+        return FORMAT;
+    }
+
+    @Override
+    public String contentType() {
+        return "image/webp";
+    }
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public void encode(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT).next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0) {
+                    // 손실 압축 타입 우선 (플러그인마다 이름이 달라 이름으로 고른다)
+                    param.setCompressionType(Arrays.stream(types)
+                            .filter(t -> t.toLowerCase().contains("lossy"))
+                            .findFirst()
+                            .orElse(types[0]));
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /** writer 등록 여부만으로는 네이티브 로드 실패를 알 수 없어 1x1 이미지를 실제로 인코딩해 본다. */
+    private boolean probe() {
+        try {
+            if (!ImageIO.getImageWritersByFormatName(FORMAT).hasNext()) return false;
+            encode(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), new ByteArrayOutputStream());
+            return true;
+        } catch (Throwable e) { // UnsatisfiedLinkError 포함
+            log.debug("[IMAGE] webp probe 실패", e);
+            return false;
+        }
+    }
+}
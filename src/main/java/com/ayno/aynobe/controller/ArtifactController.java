@@ -3,6 +3,7 @@ package com.ayno.aynobe.controller;
 import com.ayno.aynobe.config.security.CustomUserDetails;
 import com.ayno.aynobe.dto.artifact.*;
 import com.ayno.aynobe.dto.asset.ArtifactPublishResponseDTO;
+import com.ayno.aynobe.dto.common.CursorPageResponseDTO;
 import com.ayno.aynobe.dto.common.PageResponseDTO;
 import com.ayno.aynobe.dto.common.Response;
 import com.ayno.aynobe.entity.enums.FlowType;
@@ -14,9 +15,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Artifact", description = "결과물 관련 API")
 @RestController
@@ -27,27 +30,55 @@ public class ArtifactController {
     private final ArtifactService artifactService;
     private final PublishService publishService;
 
-    @Operation(summary = "메인 리스트 및 검색", description = "공개된(PUBLIC) 결과물만 조회합니다. 카테고리가 없으면 전체 조회입니다.")
+    @Operation(summary = "메인 리스트 및 검색", description = "공개된(PUBLIC) 결과물만 조회합니다. 카테고리가 없으면 전체 조회입니다. 로그인 시 liked 포함")
     @GetMapping
     public ResponseEntity<Response<PageResponseDTO<ArtifactListItemResponseDTO>>> getArtifacts(
+            @AuthenticationPrincipal CustomUserDetails principal,
             @RequestParam(required = false) FlowType category,
             @RequestParam(required = false, name = "q") String keyword,
             @RequestParam(required = false, defaultValue = "createdAt") String sort,
             @ParameterObject Pageable pageable
     ) {
         return ResponseEntity.ok(
-                Response.success(artifactService.getPublicArtifacts(category, keyword, sort, pageable))
+                Response.success(artifactService.getPublicArtifacts(viewerIdOf(principal), category, keyword, sort, pageable))
+        );
+    }
+
+    @Operation(
+            summary = "메인 리스트 (커서 기반 무한 스크롤)",
+            description = "page/totalElements 없이 nextCursor로 다음 페이지를 조회합니다. 첫 요청은 cursor 없이 호출하세요. (정렬 조건은 커서와 동일해야 함)")
+    @GetMapping("/cursor")
+    public ResponseEntity<Response<CursorPageResponseDTO<ArtifactListItemResponseDTO>>> getArtifactsByCursor(
+            @AuthenticationPrincipal CustomUserDetails principal,
+            @RequestParam(required = false) FlowType category,
+            @RequestParam(required = false, name = "q") String keyword,
+            @RequestParam(required = false, defaultValue = "createdAt") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(
+                Response.success(artifactService.getPublicArtifactsByCursor(viewerIdOf(principal), category, keyword, sort, cursor, size))
         );
     }
 
     @Operation(
             summary = "결과물 상세 조회",
-            description = "미디어(이미지/영상/파일) 포함")
+            description = "미디어(이미지/영상/파일) 포함. ETag 제공 — If-None-Match 가 일치하면 304")
     @GetMapping("/{artifactId}")
     public ResponseEntity<Response<ArtifactDetailResponseDTO>> detail(
-            @PathVariable Long artifactId
+            @PathVariable Long artifactId,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(Response.success(artifactService.getDetail(artifactId)));
+        // If-None-Match 가 맞으면 본문 조회/직렬화 없이 304
+        ArtifactVersionDTO version = artifactService.getDetailVersion(artifactId);
+        String etag = artifactService.detailETag(artifactId, version);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(Response.success(artifactService.getDetail(artifactId, version)));
     }
 
     @Operation(
@@ -110,4 +141,7 @@ public class ArtifactController {
         return ResponseEntity.ok(res);
     }
 
-}
\ No newline at end of file
+    private static Long viewerIdOf(CustomUserDetails principal) {
+        return (principal != null) ? principal.getUser().getUserId() : null;
+    }
+}
@@ -1,8 +1,10 @@
 package com.ayno.aynobe.controller;
 
+import com.ayno.aynobe.config.exception.CustomException;
 import com.ayno.aynobe.config.security.CustomUserDetails;
 import com.ayno.aynobe.dto.common.Response;
 import com.ayno.aynobe.dto.reaction.ArtifactLikeResponseDTO;
+import com.ayno.aynobe.dto.reaction.LikedArtifactIdsResponseDTO;
 import com.ayno.aynobe.service.ReactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,6 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Tag(name = "Reaction", description = "리엑션 관련 API")
 @RestController
 @RequiredArgsConstructor
@@ -31,6 +35,20 @@ public class ReactionController {
         ));
     }
 
+    @Operation(summary = "결과물 좋아요 여부 일괄 조회", description = "피드 한 페이지의 결과물 ID(최대 100개) 중 내가 좋아요 한 ID 목록 (로그인 필요)")
+    @GetMapping("/artifacts/likes")
+    public ResponseEntity<Response<LikedArtifactIdsResponseDTO>> getLikedArtifactIds(
+            @AuthenticationPrincipal CustomUserDetails principal,
+            @RequestParam List<Long> ids
+    ) {
+        if (principal == null) {
+            throw CustomException.unauthorized("로그인이 필요합니다.");
+        }
+        return ResponseEntity.ok(Response.success(
+                reactionService.getLikedArtifactIds(principal.getUser(), ids)
+        ));
+    }
+
     @Operation(summary = "결과물 좋아요", description = "멱등 — 이미 좋아요면 그대로 반환")
     @PostMapping("/artifacts/{artifactId}/like")
     public ResponseEntity<Response<ArtifactLikeResponseDTO>> likeArtifact(
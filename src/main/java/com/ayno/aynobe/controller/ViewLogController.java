@@ -25,7 +25,7 @@ public class ViewLogController {
 
     private final ViewLogService viewLogService;
 
-    @Operation(summary = "조회 시작 로그", description = "로그인: 1일 1회 upsert(+viewCount). 비로그인: 저장 없이 viewCount만 증가")
+    @Operation(summary = "조회 시작 로그", description = "로그인: 1일 1회 upsert(+viewCount), 비동기 적재. 비로그인: 저장 없이 viewCount만 증가")
     @PostMapping("/start")
     public ResponseEntity<Response<ViewLogResponseDTO>> start(
             @AuthenticationPrincipal @Nullable CustomUserDetails principal,
@@ -35,7 +35,7 @@ public class ViewLogController {
         return ResponseEntity.ok(Response.success(result));
     }
 
-    @Operation(summary = "조회 종료 로그", description = "로그인: dwellSec 갱신. 비로그인: no-op")
+    @Operation(summary = "조회 종료 로그", description = "로그인: dwellSec 갱신(비동기, 진입 로그가 없으면 무시). 비로그인: no-op")
     @PostMapping("/end")
     public ResponseEntity<Response<ViewLogResponseDTO>> end(
             @AuthenticationPrincipal @Nullable CustomUserDetails principal,
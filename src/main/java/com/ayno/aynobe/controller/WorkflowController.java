@@ -10,9 +10,11 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Workflow", description = "워크플로우 관련 API")
 @RestController
@@ -23,16 +25,28 @@ public class WorkflowController {
     private final WorkflowService workflowService;
 
     @Operation(
-            summary = "워크플로우 상세"
+            summary = "워크플로우 상세",
+            description = "ETag 제공 — If-None-Match 가 일치하면 304"
     )
     @GetMapping("/{workflowId}")
     public ResponseEntity<Response<WorkflowDetailResponseDTO>> getDetail(
             @AuthenticationPrincipal CustomUserDetails principal,
-            @PathVariable Long workflowId
+            @PathVariable Long workflowId,
+            WebRequest webRequest
     ) {
         User actor = (principal != null) ? principal.getUser() : null;
+
+        // If-None-Match 가 맞으면 스텝/섹션 조회 없이 304
+        String etag = workflowService.getDetailETag(actor, workflowId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         WorkflowDetailResponseDTO body = workflowService.getDetail(actor, workflowId);
-        return ResponseEntity.ok(Response.success(body));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate()) // 소유자 전용 → 공유 캐시 금지
+                .body(Response.success(body));
     }
 
 
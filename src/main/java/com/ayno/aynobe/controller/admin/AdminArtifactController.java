@@ -1,10 +1,12 @@
 package com.ayno.aynobe.controller.admin;
 
 import com.ayno.aynobe.dto.admin.AdminArtifactResponseDTO;
+import com.ayno.aynobe.dto.admin.SearchIndexRebuildResponseDTO;
 import com.ayno.aynobe.dto.common.PageResponseDTO;
 import com.ayno.aynobe.dto.common.Response;
 import com.ayno.aynobe.entity.enums.VisibilityType;
 import com.ayno.aynobe.service.admin.AdminArtifactService;
+import com.ayno.aynobe.service.search.ArtifactSearchIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AdminArtifactController {
     private final AdminArtifactService adminArtifactService;
+    private final ArtifactSearchIndex artifactSearchIndex;
 
     @Operation(summary = "관리자 프로젝트 목록 조회", description = "ID검색, 상태필터, 제목/작성자 검색 통합")
     @GetMapping
@@ -39,4 +42,15 @@ public class AdminArtifactController {
         return ResponseEntity.ok(Response.success("삭제되었습니다"));
     }
 
+    @Operation(summary = "제목 검색 인덱스 재구축", description = "공개 결과물 전체로 인메모리 검색 인덱스를 다시 만듭니다. (재구축 중에는 409)")
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<Response<SearchIndexRebuildResponseDTO>> rebuildSearchIndex() {
+        long started = System.currentTimeMillis();
+        int indexed = artifactSearchIndex.rebuild();
+        return ResponseEntity.ok(Response.success(SearchIndexRebuildResponseDTO.builder()
+                .indexedCount(indexed)
+                .elapsedMs(System.currentTimeMillis() - started)
+                .build()));
+    }
+
 }
@@ -46,4 +46,10 @@ public class AdminUserController {
         adminUserService.changeUserStatus(userId, userStatusUpdateDTO.getStatus());
         return ResponseEntity.ok(Response.success("상태가 변경되었습니다."));
     }
+
+    @Operation(summary = "프로필 아바타 이관", description = "원본 프로필 이미지를 쓰는 기존 유저의 아바타 생성 작업을 적재 (적재 건수 반환)")
+    @PostMapping("/profile-images/migrate")
+    public ResponseEntity<Response<Integer>> migrateProfileImages() {
+        return ResponseEntity.ok(Response.success(adminUserService.migrateProfileImages()));
+    }
 }
@@ -1,7 +1,9 @@
 package com.ayno.aynobe.controller.s3;
 
 import com.ayno.aynobe.config.security.CustomUserDetails;
+import com.ayno.aynobe.dto.asset.MediaJobStatusResponseDTO;
 import com.ayno.aynobe.dto.asset.UploadDeleteRequestDTO;
+import com.ayno.aynobe.dto.asset.UploadFinalizeRequestDTO;
 import com.ayno.aynobe.dto.asset.UploadPresignRequestDTO;
 import com.ayno.aynobe.dto.asset.UploadPresignResponseDTO;
 import com.ayno.aynobe.service.s3.S3Service;
@@ -12,8 +14,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Tag(name = "S3", description = "파일 업로드 관련 API")
@@ -33,6 +37,30 @@ public class S3Controller {
         return ResponseEntity.ok(s3Service.createPresign(principal.getUser(), req));
     }
 
+    @Operation(
+            summary = "업로드 완료 알림(finalize)",
+            description = "presigned PUT 성공 후 호출하세요. 이미지면 발행 전에 파생(w320/w800/w1600)을 백그라운드에서 미리 만들어 발행이 빨라집니다. 같은 baseKey 로 여러 번 호출해도 작업은 하나이며, 실패한 작업은 다시 호출하면 재시도합니다."
+    )
+    @PostMapping("/api/s3/uploads/finalize")
+    public ResponseEntity<MediaJobStatusResponseDTO> finalizeUpload(
+            @AuthenticationPrincipal CustomUserDetails principal,
+            @RequestBody @Valid UploadFinalizeRequestDTO req
+    ) {
+        return ResponseEntity.ok(s3Service.finalizeUpload(principal.getUser(), req));
+    }
+
+    @Operation(
+            summary = "업로드 후처리 상태 조회",
+            description = "baseKey 의 파생 생성 작업 상태(PENDING/RUNNING/DONE/DEAD)를 조회합니다. status 가 null 이면 파생 생성 대상이 아닙니다."
+    )
+    @GetMapping("/api/s3/uploads/status")
+    public ResponseEntity<MediaJobStatusResponseDTO> uploadStatus(
+            @AuthenticationPrincipal CustomUserDetails principal,
+            @RequestParam String baseKey
+    ) {
+        return ResponseEntity.ok(s3Service.getUploadStatus(principal.getUser(), baseKey));
+    }
+
     @Operation(
             summary = "작성 중 업로드 취소(즉시 삭제)",
             description = "작성 화면에서 올렸다가 뺀 파일을 S3 private 경로에서 즉시 삭제합니다. baseKey는 presign 응답의 값을 그대로 사용하세요."
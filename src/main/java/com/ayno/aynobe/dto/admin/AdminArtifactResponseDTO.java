@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "관리자용 프로젝트 목록 응답 (썸네일 제외, 관리 정보 포함)")
+// JPQL 생성자 프로젝션(@AllArgsConstructor) 대상 → 필드 순서 변경 시 ArtifactRepository 쿼리도 같이 수정
 public class AdminArtifactResponseDTO {
     private Long artifactId;
     private String artifactTitle;
@@ -0,0 +1,20 @@
+package com.ayno.aynobe.dto.admin;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "검색 인덱스 재구축 결과")
+public class SearchIndexRebuildResponseDTO {
+    @Schema(description = "색인된 공개 결과물 수", example = "12345")
+    private int indexedCount;
+
+    @Schema(description = "소요 시간(ms)", example = "850")
+    private long elapsedMs;
+}
@@ -0,0 +1,7 @@
+package com.ayno.aynobe.dto.artifact;
+
+/**
+ * 상세 캐시 히트 시 최신 카운터만 덮어쓰기 위한 경량 조회 결과
+ */
+public record ArtifactCountersDTO(Long viewCount, Long likeCount) {
+}
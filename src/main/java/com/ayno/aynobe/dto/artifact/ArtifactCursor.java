@@ -0,0 +1,60 @@
+package com.ayno.aynobe.dto.artifact;
+
+import com.ayno.aynobe.config.exception.CustomException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 공개 피드 커서(keyset) 페이지네이션용 커서.
+ *
+ * - 정렬 필드 값 + artifactId(동률 처리용)를 담는다
+ * - 클라이언트에는 Base64(URL-safe) 문자열로만 노출한다 (내부 구조는 불투명)
+ * - 정렬 조건이 바뀐 요청에 이전 커서를 쓰면 400
+ */
+public record ArtifactCursor(String sortField, Sort.Direction direction, String value, Long artifactId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ArtifactCursor of(Sort.Order order, Object value, Long artifactId) {
+        return new ArtifactCursor(order.getProperty(), order.getDirection(), String.valueOf(value), artifactId);
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortField, direction.name(), value, String.valueOf(artifactId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ArtifactCursor decode(String encoded, Sort.Order expected) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) {
+                throw CustomException.badRequest("유효하지 않은 커서입니다.");
+            }
+
+            ArtifactCursor cursor = new ArtifactCursor(
+                    parts[0], Sort.Direction.valueOf(parts[1]), parts[2], Long.parseLong(parts[3]));
+
+            if (!cursor.sortField().equals(expected.getProperty()) || cursor.direction() != expected.getDirection()) {
+                throw CustomException.badRequest("정렬 조건이 변경되었습니다. 커서 없이 다시 요청해주세요.");
+            }
+            cursor.sortValue(); // 값 형식 검증
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw CustomException.badRequest("유효하지 않은 커서입니다.");
+        }
+    }
+
+    /** 정렬 필드 타입에 맞게 변환된 값 (createdAt → LocalDateTime, 카운트 → Long) */
+    public Object sortValue() {
+        return "createdAt".equals(sortField) ? LocalDateTime.parse(value) : Long.valueOf(value);
+    }
+
+    public boolean isAscending() {
+        return direction.isAscending();
+    }
+}
@@ -5,6 +5,8 @@ import com.ayno.aynobe.entity.enums.VisibilityType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +27,20 @@ public class ArtifactListItemResponseDTO {
     private String slug;
     @Schema(description = "연결된 워크플로우 ID (없으면 null)")
     private Long workflowId;
+    private LocalDateTime createdAt;
+    @Schema(description = "로그인 사용자의 좋아요 여부 (비로그인은 null)")
+    private Boolean liked;
+
+    /** 목록 조회 JPQL 생성자 프로젝션용 (ArtifactRepository.LIST_ITEM_PROJECTION 과 인자 순서를 맞출 것) */
+    public ArtifactListItemResponseDTO(
+            Long artifactId, String artifactTitle, String thumbnailUrl,
+            Long userId, String nickname, String profileImageUrl,
+            Integer aiUsagePercent, Long viewCount, Long likeCount, VisibilityType visibility, String slug,
+            Long workflowId, LocalDateTime createdAt
+    ) {
+        this(artifactId, artifactTitle, thumbnailUrl, userId, nickname, profileImageUrl,
+                aiUsagePercent, viewCount, likeCount, visibility, slug, workflowId, createdAt, null);
+    }
 
     public static ArtifactListItemResponseDTO from(Artifact artifact) {
         Long workflowId = (artifact.getWorkflow() != null)
@@ -44,6 +60,7 @@ public class ArtifactListItemResponseDTO {
                 .visibility(artifact.getVisibility())
                 .slug(artifact.getSlug())
                 .workflowId(workflowId)
+                .createdAt(artifact.getCreatedAt())
                 .build();
     }
 }
@@ -0,0 +1,7 @@
+package com.ayno.aynobe.dto.artifact;
+
+/**
+ * 검색 인덱스 (재)구축용 경량 행 (artifactId, 제목)
+ */
+public record ArtifactTitleDTO(Long artifactId, String artifactTitle) {
+}
@@ -0,0 +1,25 @@
+package com.ayno.aynobe.dto.artifact;
+
+import com.ayno.aynobe.entity.Artifact;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 상세 ETag 계산용 경량 조회 결과 (미디어/본문 없이 버전 정보만)
+ */
+public record ArtifactVersionDTO(long version, LocalDateTime updatedAt, LocalDateTime authorUpdatedAt, Long likeCount) {
+
+    /** 작성자까지 로드된 결과물에서 */
+    public static ArtifactVersionDTO of(Artifact artifact) {
+        return new ArtifactVersionDTO(artifact.getVersion(), artifact.getUpdatedAt(),
+                artifact.getUser().getUpdatedAt(), artifact.getLikeCount());
+    }
+
+    /** 캐시된 본문(카운터 제외)을 그대로 써도 되는 같은 버전인지 */
+    public boolean sameBodyAs(ArtifactVersionDTO other) {
+        return version == other.version
+                && Objects.equals(updatedAt, other.updatedAt)
+                && Objects.equals(authorUpdatedAt, other.authorUpdatedAt);
+    }
+}
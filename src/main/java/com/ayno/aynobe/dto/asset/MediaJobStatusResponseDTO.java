@@ -0,0 +1,49 @@
+package com.ayno.aynobe.dto.asset;
+
+import com.ayno.aynobe.entity.MediaJob;
+import com.ayno.aynobe.entity.enums.MediaJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(name = "MediaJobStatusResponse")
+public class MediaJobStatusResponseDTO {
+
+    @Schema(description = "S3 상대 경로(baseKey)", example = "user/1/uploads/artifact/uuid/original.png")
+    private String baseKey;
+
+    @Schema(description = "파생 생성 상태 (null 이면 파생 생성 대상 아님: 오디오/프로필 등)", example = "DONE", nullable = true)
+    private MediaJobStatus status;
+
+    @Schema(description = "실패 횟수", example = "0")
+    private Integer attempts;
+
+    @Schema(description = "마지막 실패 사유", nullable = true)
+    private String lastError;
+
+    @Schema(description = "상태 변경 시각", nullable = true)
+    private LocalDateTime updatedAt;
+
+    public static MediaJobStatusResponseDTO from(MediaJob job) {
+        return MediaJobStatusResponseDTO.builder()
+                .baseKey(job.getBaseKey())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .lastError(job.getLastError())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+
+    public static MediaJobStatusResponseDTO notRequired(String baseKey) {
+        return MediaJobStatusResponseDTO.builder()
+                .baseKey(baseKey)
+                .attempts(0)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.ayno.aynobe.dto.asset;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(name = "UploadFinalizeRequest")
+public class UploadFinalizeRequestDTO {
+
+    @NotBlank
+    @Size(max = 512)
+    @Schema(description = "presign 응답의 baseKey 그대로", example = "user/1/uploads/artifact/uuid/original.png")
+    private String baseKey;
+}
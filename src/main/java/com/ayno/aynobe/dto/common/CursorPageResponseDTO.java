@@ -0,0 +1,22 @@
+package com.ayno.aynobe.dto.common;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(name = "CursorPageResponse")
+public class CursorPageResponseDTO<T> {
+    private List<T> content;
+    private int size;
+
+    @Schema(description = "다음 페이지 요청 시 그대로 전달할 커서 (마지막 페이지면 null)")
+    private String nextCursor;
+
+    private boolean hasNext;
+}
@@ -11,7 +11,7 @@ import lombok.*;
 @Builder
 public class ViewLogResponseDTO {
 
-    @Schema(description = "뷰 로그 PK(비로그인은 null)", example = "9876")
+    @Schema(description = "뷰 로그 PK(비동기 적재로 현재는 항상 null)", example = "9876")
     private Long viewId;
 
     public static ViewLogResponseDTO ofId(Long id) {
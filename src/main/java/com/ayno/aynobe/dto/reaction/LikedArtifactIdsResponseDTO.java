@@ -0,0 +1,17 @@
+package com.ayno.aynobe.dto.reaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(name = "LikedArtifactIdsResponse")
+public class LikedArtifactIdsResponseDTO {
+    @Schema(description = "요청한 결과물 중 좋아요 한 결과물 ID", example = "[1, 5, 9]")
+    private Set<Long> likedArtifactIds;
+}
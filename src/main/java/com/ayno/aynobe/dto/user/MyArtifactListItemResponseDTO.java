@@ -8,6 +8,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// JPQL 생성자 프로젝션(@AllArgsConstructor) 대상 → 필드 순서 변경 시 ArtifactRepository 쿼리도 같이 수정
 public class MyArtifactListItemResponseDTO {
     private Long artifactId;
     private String artifactTitle;
@@ -0,0 +1,7 @@
+package com.ayno.aynobe.dto.user;
+
+/**
+ * 폐기 목록 갱신용 경량 조회 결과 (최근 principal 버전이 바뀐 사용자)
+ */
+public record PrincipalVersionDTO(Long userId, long principalVersion) {
+}
@@ -0,0 +1,9 @@
+package com.ayno.aynobe.dto.workflow;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상세 ETag 계산용 경량 조회 결과 (스텝/섹션 없이 버전 + 소유자만)
+ */
+public record WorkflowVersionDTO(long version, LocalDateTime updatedAt, Long ownerId) {
+}
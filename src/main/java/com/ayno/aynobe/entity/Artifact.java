@@ -26,7 +26,9 @@ import java.util.Map;
         indexes = {
                 @Index(name = "idx_artifact_user", columnList = "user_id"),
                 @Index(name = "idx_artifact_workflow", columnList = "workflow_id"),
-                @Index(name = "idx_artifact_visibility_created", columnList = "visibility, created_at")
+                @Index(name = "idx_artifact_visibility_created", columnList = "visibility, created_at"),
+                @Index(name = "idx_artifact_visibility_like", columnList = "visibility, like_count"),
+                @Index(name = "idx_artifact_visibility_view", columnList = "visibility, view_count")
         }
 )
 public class Artifact extends BaseTimeEntity {
@@ -77,6 +79,11 @@ public class Artifact extends BaseTimeEntity {
     @Column(nullable = false, length = 256)
     private String slug;
 
+    // 상세 ETag 용 버전 (수정 시 강제 증가)
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @Builder.Default
     @OneToMany(mappedBy = "artifact", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("mediaId ASC")
@@ -0,0 +1,94 @@
+package com.ayno.aynobe.entity;
+
+import com.ayno.aynobe.entity.enums.MediaJobStatus;
+import com.ayno.aynobe.entity.enums.MediaJobType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * S3 부수 작업(파생 생성, 삭제 등) 아웃박스.
+ *
+ * - 엔티티 변경과 같은 트랜잭션에서 저장 → 커밋된 변경에 대해서만 실행되고, 커밋되면 반드시 실행된다
+ * - 워커가 nextRunAt 이 지난 PENDING 을 가져가 실행한다
+ * - 작업은 모두 멱등이라 같은 (type, baseKey) 가 여러 번 실행돼도 안전하다
+ */
+@Entity
+@Table(
+        name = "media_job",
+        indexes = {
+                @Index(name = "idx_media_job_status_next", columnList = "status, nextRunAt"),
+                @Index(name = "idx_media_job_type_basekey", columnList = "type, baseKey")
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class MediaJob extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private MediaJobType type;
+
+    @Column(nullable = false, length = 512)
+    private String baseKey;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MediaJobStatus status = MediaJobStatus.PENDING;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextRunAt;
+
+    private LocalDateTime lockedAt;   // RUNNING 으로 가져간 시각 (워커가 죽은 작업 회수용)
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public static MediaJob of(MediaJobType type, String baseKey) {
+        return MediaJob.builder()
+                .type(type)
+                .baseKey(baseKey)
+                .nextRunAt(LocalDateTime.now())
+                .build();
+    }
+
+    public void succeed() {
+        this.status = MediaJobStatus.DONE;
+        this.lockedAt = null;
+        this.lastError = null;
+    }
+
+    /**
+     * 실패 기록. retryAt 이 null 이면 DEAD 로 두고 더 이상 재시도하지 않는다.
+     */
+    public void fail(String error, LocalDateTime retryAt) {
+        this.attempts++;
+        this.lockedAt = null;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (retryAt == null) {
+            this.status = MediaJobStatus.DEAD;
+        } else {
+            this.status = MediaJobStatus.PENDING;
+            this.nextRunAt = retryAt;
+        }
+    }
+
+    /** DEAD 작업을 다시 요청받았을 때 처음부터 재시도 */
+    public void resetForRetry() {
+        this.status = MediaJobStatus.PENDING;
+        this.attempts = 0;
+        this.nextRunAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+}
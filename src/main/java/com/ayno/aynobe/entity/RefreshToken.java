@@ -0,0 +1,73 @@
+package com.ayno.aynobe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발급한 리프레시 토큰 (원문 대신 SHA-256 만 저장).
+ *
+ * - 같은 로그인에서 회전으로 이어지는 토큰들은 familyId 를 공유한다
+ * - 한 번 쓰이면 rotatedAt 이 찍히고, 회전된 토큰이 다시 오면 탈취로 보고 가족 전체를 폐기한다
+ */
+@Entity
+@Table(
+        name = "refresh_token",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = {"tokenHash"})
+        },
+        indexes = {
+                @Index(name = "idx_refresh_token_family", columnList = "familyId"),
+                @Index(name = "idx_refresh_token_subject", columnList = "subject, admin"),
+                @Index(name = "idx_refresh_token_expires", columnList = "expiresAt")
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class RefreshToken extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long tokenId;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false, length = 256)
+    private String subject;
+
+    private boolean admin;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime rotatedAt;   // 다음 토큰으로 교체된 시각 (null 이면 현재 토큰)
+    private LocalDateTime revokedAt;
+
+    public static RefreshToken of(String tokenHash, String familyId, String subject, boolean admin, LocalDateTime expiresAt) {
+        return RefreshToken.builder()
+                .tokenHash(tokenHash)
+                .familyId(familyId)
+                .subject(subject)
+                .admin(admin)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    public void rotate(LocalDateTime now) {
+        this.rotatedAt = now;
+    }
+
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+
+    public boolean isRotated() {
+        return rotatedAt != null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ayno.aynobe.entity;
+
+import com.ayno.aynobe.entity.enums.CleanupRunStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * S3 고아 파일 정리 1회 실행 기록 (+ 통계).
+ * 하루 한 건만 만든다 (runDate 유니크 → 여러 인스턴스가 동시에 떠도 하나만 시작).
+ */
+@Entity
+@Table(
+        name = "s3_cleanup_run",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_s3_cleanup_run_date", columnNames = {"runDate"})
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class S3CleanupRun extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long runId;
+
+    @Column(nullable = false)
+    private LocalDate runDate;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CleanupRunStatus status = CleanupRunStatus.RUNNING;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime cutoff;     // 이 시각 이전에 올라온 파일만 대상 (이어서 실행해도 같은 기준)
+
+    private LocalDateTime finishedAt;
+
+    private long scanned;             // 검사한 S3 객체 수
+    private long orphaned;            // DB 에 없는 원본 수
+    private long deleted;             // 삭제한 미디어 세트 수
+    private long failed;              // 삭제 실패한 미디어 세트 수
+    private Long durationMs;
+
+    public static S3CleanupRun start(LocalDateTime now, LocalDateTime cutoff) {
+        return S3CleanupRun.builder()
+                .runDate(now.toLocalDate())
+                .startedAt(now)
+                .cutoff(cutoff)
+                .build();
+    }
+
+    public void finish(boolean allShardsDone, long scanned, long orphaned, long deleted, long failed) {
+        this.status = allShardsDone ? CleanupRunStatus.COMPLETED : CleanupRunStatus.FAILED;
+        this.scanned = scanned;
+        this.orphaned = orphaned;
+        this.deleted = deleted;
+        this.failed = failed;
+        this.finishedAt = LocalDateTime.now();
+        this.durationMs = Duration.between(startedAt, finishedAt).toMillis();
+    }
+}
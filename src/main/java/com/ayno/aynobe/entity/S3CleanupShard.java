@@ -0,0 +1,58 @@
+package com.ayno.aynobe.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 정리 실행의 샤드(사용자 ID 접두 단위) 진행 상황.
+ * 페이지를 처리할 때마다 다음 continuation token 을 저장 → 중단돼도 그 페이지부터 이어서 스캔.
+ */
+@Entity
+@Table(
+        name = "s3_cleanup_shard",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_s3_cleanup_shard_run_prefix", columnNames = {"runId", "shardPrefix"})
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class S3CleanupShard extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long shardId;
+
+    @Column(nullable = false)
+    private Long runId;
+
+    @Column(nullable = false, length = 255)
+    private String shardPrefix;
+
+    @Column(length = 1024)
+    private String continuationToken; // null 이면 처음부터
+
+    private boolean done;
+
+    private long scanned;
+    private long orphaned;
+    private long deleted;
+    private long failed;
+
+    public static S3CleanupShard of(Long runId, String shardPrefix) {
+        return S3CleanupShard.builder()
+                .runId(runId)
+                .shardPrefix(shardPrefix)
+                .build();
+    }
+
+    /** 한 페이지 처리 결과 반영. nextToken 이 null 이면 샤드 끝 */
+    public void checkpoint(String nextToken, long scanned, long orphaned, long deleted, long failed) {
+        this.continuationToken = nextToken;
+        this.done = nextToken == null;
+        this.scanned += scanned;
+        this.orphaned += orphaned;
+        this.deleted += deleted;
+        this.failed += failed;
+    }
+}
@@ -84,13 +84,23 @@ public class User extends BaseTimeEntity {
 
     private LocalDateTime marketingAgreedAt;
 
+    // 상태가 바뀔 때마다 올린다 → 이전 버전이 담긴 stateless 액세스 토큰은 폐기 대상
+    @Column(nullable = false)
+    private long principalVersion;
+
+    private LocalDateTime principalChangedAt;
+
     public void changeNickname(String nickname) {this.nickname = nickname;}
     public void changeProfileImageUrl(String profileImageUrl) {this.profileImageUrl = profileImageUrl;}
     public void changeGender(GenderType gender) { this.gender = gender; }
     public void changeAgeBand(AgeBand ageBand) { this.ageBand = ageBand; }
     public void changeAiUsageDepth(UsageDepthType depth) { this.aiUsageDepth = depth; }
     public void changeJobRole(JobRole jobRole) { this.jobRole = jobRole; }
-    public void changeStatus(UserStatus status) {this.status = status;}
+    public void changeStatus(UserStatus status) {
+        this.status = status;
+        this.principalVersion++;
+        this.principalChangedAt = LocalDateTime.now();
+    }
 
     public void updateInterests(Set<Integer> interestIdsToRemove,
                                 Collection<Interest> interestsToAdd) {
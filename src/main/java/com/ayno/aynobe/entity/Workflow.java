@@ -50,6 +50,11 @@ public class Workflow extends BaseTimeEntity {
     @Column(name = "canvasJson", columnDefinition = "json")
     private JsonNode canvasJson;
 
+    // 상세 ETag 용 버전 (수정 시 강제 증가)
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @Builder.Default
     @OneToMany(mappedBy = "workflow", cascade = CascadeType.ALL, orphanRemoval = true)
     @Fetch(FetchMode.SUBSELECT)
@@ -0,0 +1,14 @@
+package com.ayno.aynobe.entity.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum CleanupRunStatus {
+    RUNNING("실행 중"),     // 인스턴스가 죽으면 RUNNING 으로 남음 → 다음 실행 때 이어서 진행
+    COMPLETED("완료"),
+    FAILED("일부 샤드 실패");
+
+    private final String description;
+}
@@ -0,0 +1,15 @@
+package com.ayno.aynobe.entity.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum MediaJobStatus {
+    PENDING("대기"),    // 실행 대기 (재시도 대기 포함, nextRunAt 이후 실행)
+    RUNNING("실행 중"),
+    DONE("완료"),
+    DEAD("재시도 초과");  // 더 이상 자동 재시도하지 않음 → 확인 후 수동 재처리
+
+    private final String description;
+}
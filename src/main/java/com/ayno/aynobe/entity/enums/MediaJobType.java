@@ -0,0 +1,15 @@
+package com.ayno.aynobe.entity.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum MediaJobType {
+    GENERATE_VARIANTS("이미지 파생 생성"),          // 업로드 완료 직후 w320/w800/w1600 미리 생성
+    DELETE_MEDIA_SET("미디어 전체 삭제"),           // 원본+파생, private/public 모두 (결과물/워크플로우 삭제 등)
+    DELETE_PUBLIC_COPIES("공개 사본 삭제"),         // 비공개 전환 시 public 사본만
+    GENERATE_AVATARS("프로필 아바타 생성");         // 프로필 이미지 s64/s128/s256 정사각 생성 후 URL 교체
+
+    private final String description;
+}
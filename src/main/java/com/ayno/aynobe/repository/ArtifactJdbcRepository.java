@@ -0,0 +1,81 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.config.util.DatabaseDialect;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * artifact 카운터 컬럼(view_count, like_count) 전용 JDBC 접근.
+ * 영속성 컨텍스트를 거치지 않고 증감 UPDATE 만 보낸다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArtifactJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    /**
+     * artifactId → 증가분을 한 번의 배치 UPDATE 로 반영한다.
+     * 여러 서버가 동시에 flush 해도 데드락이 나지 않도록 artifactId 순으로 보낸다.
+     * 한 트랜잭션으로 묶어 중간에 실패하면 전부 롤백된다 → 호출자가 배치 전체를 다시 보내도 두 번 세지 않는다.
+     */
+    @Transactional
+    public void addViewCounts(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        new TreeMap<>(deltas).forEach((artifactId, delta) -> args.add(new Object[]{delta, artifactId}));
+
+        jdbcTemplate.batchUpdate(
+                "UPDATE artifact SET view_count = view_count + ? WHERE artifact_id = ?",
+                args
+        );
+    }
+
+    /**
+     * 좋아요 수를 delta 만큼 증감하고 갱신된 값을 같은 문장에서 돌려받는다. (0 미만으로는 내려가지 않음)
+     * - MySQL: LAST_INSERT_ID(expr) 로 갱신값을 세션에 싣고 generated key 로 회수
+     * - H2: FINAL TABLE 로 UPDATE 결과 행을 바로 SELECT
+     *
+     * @return 갱신된 좋아요 수, 결과물이 없으면 empty
+     */
+    public OptionalLong addLikeCount(Long artifactId, long delta) {
+        if (dialect.isMySql()) {
+            KeyHolder keys = new GeneratedKeyHolder();
+            int rows = jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "UPDATE artifact SET like_count = LAST_INSERT_ID(GREATEST(like_count + ?, 0)) WHERE artifact_id = ?",
+                        Statement.RETURN_GENERATED_KEYS);
+                ps.setLong(1, delta);
+                ps.setLong(2, artifactId);
+                return ps;
+            }, keys);
+            if (rows == 0) return OptionalLong.empty();
+            // LAST_INSERT_ID(0) 이면 드라이버가 키를 돌려주지 않는다 → 갱신값 0
+            Number value = keys.getKeyList().isEmpty() ? null : keys.getKey();
+            return OptionalLong.of(value != null ? value.longValue() : 0L);
+        }
+
+        List<Long> updated = jdbcTemplate.queryForList(
+                "SELECT like_count FROM FINAL TABLE (" +
+                "UPDATE artifact SET like_count = GREATEST(like_count + ?, 0) WHERE artifact_id = ?)",
+                Long.class, delta, artifactId);
+        return updated.isEmpty() ? OptionalLong.empty() : OptionalLong.of(updated.get(0));
+    }
+
+    /** @return 현재 좋아요 수, 결과물이 없으면 empty */
+    public OptionalLong findLikeCount(Long artifactId) {
+        List<Long> counts = jdbcTemplate.queryForList(
+                "SELECT like_count FROM artifact WHERE artifact_id = ?", Long.class, artifactId);
+        return counts.isEmpty() ? OptionalLong.empty() : OptionalLong.of(counts.get(0));
+    }
+}
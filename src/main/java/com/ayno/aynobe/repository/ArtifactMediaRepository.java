@@ -13,4 +13,8 @@ public interface ArtifactMediaRepository extends JpaRepository<ArtifactMedia, Lo
 
     @Query("SELECT am.baseKey FROM ArtifactMedia am WHERE am.baseKey IN :baseKeys")
     Set<String> findBaseKeysIn(@Param("baseKeys") List<String> baseKeys);
+
+    @Query("SELECT COUNT(am) > 0 FROM ArtifactMedia am " +
+            "WHERE am.baseKey = :baseKey AND am.artifact.visibility = 'PUBLIC'")
+    boolean existsPublishedByBaseKey(@Param("baseKey") String baseKey);
 }
\ No newline at end of file
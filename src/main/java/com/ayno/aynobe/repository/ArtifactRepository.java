@@ -1,60 +1,140 @@
 package com.ayno.aynobe.repository;
 
+import com.ayno.aynobe.dto.admin.AdminArtifactResponseDTO;
+import com.ayno.aynobe.dto.artifact.ArtifactCountersDTO;
+import com.ayno.aynobe.dto.artifact.ArtifactListItemResponseDTO;
+import com.ayno.aynobe.dto.artifact.ArtifactTitleDTO;
+import com.ayno.aynobe.dto.artifact.ArtifactVersionDTO;
+import com.ayno.aynobe.dto.user.MyArtifactListItemResponseDTO;
 import com.ayno.aynobe.entity.Artifact;
 import com.ayno.aynobe.entity.enums.FlowType;
 import com.ayno.aynobe.entity.enums.VisibilityType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ArtifactRepository extends JpaRepository<Artifact, Long> {
+public interface ArtifactRepository extends JpaRepository<Artifact, Long>, ArtifactRepositoryCustom {
+
+    // 목록 DTO 생성자 프로젝션: user 는 조인 컬럼, workflow 는 FK 컬럼(a.workflow.workflowId)만 읽어 N+1 없이 한 번에 조회
+    String LIST_ITEM_PROJECTION = "new com.ayno.aynobe.dto.artifact.ArtifactListItemResponseDTO(" +
+            "a.artifactId, a.artifactTitle, a.thumbnailUrl, " +
+            "u.userId, u.nickname, u.profileImageUrl, " +
+            "a.aiUsagePercent, a.viewCount, a.likeCount, a.visibility, a.slug, " +
+            "a.workflow.workflowId, a.createdAt) ";
+
+    String MY_LIST_ITEM_PROJECTION = "new com.ayno.aynobe.dto.user.MyArtifactListItemResponseDTO(" +
+            "a.artifactId, a.artifactTitle, a.thumbnailUrl, " +
+            "a.aiUsagePercent, a.viewCount, a.likeCount, a.visibility, a.slug) ";
+
     boolean existsBySlug(String slug);
     boolean existsBySlugAndArtifactIdNot(String slug, Long artifactId);
 
-    @Query("SELECT a FROM Artifact a " +
-            "LEFT JOIN a.user u " +
+    @Query(value = "SELECT " + LIST_ITEM_PROJECTION +
+            "FROM Artifact a " +
+            "JOIN a.user u " +
             "WHERE " +
             "a.visibility = 'PUBLIC' AND " +
             "(:category IS NULL OR a.category = :category) AND " +
             "(" +
             "   :keyword IS NULL OR " +
             "   a.artifactTitle LIKE CONCAT('%', :keyword, '%')" +// 작성자 검색
-            ")")
-    Page<Artifact> searchPublic(
+            ")",
+            countQuery = "SELECT COUNT(a) FROM Artifact a " +
+                    "WHERE " +
+                    "a.visibility = 'PUBLIC' AND " +
+                    "(:category IS NULL OR a.category = :category) AND " +
+                    "(:keyword IS NULL OR a.artifactTitle LIKE CONCAT('%', :keyword, '%'))")
+    Page<ArtifactListItemResponseDTO> searchPublic(
             @Param("category") FlowType category,
             @Param("keyword") String keyword,
             Pageable pageable
     );
 
+    // 검색 인덱스가 후보 ID를 좁혀준 경우 (LIKE 대신 PK IN)
+    @Query(value = "SELECT " + LIST_ITEM_PROJECTION +
+            "FROM Artifact a " +
+            "JOIN a.user u " +
+            "WHERE " +
+            "a.visibility = 'PUBLIC' AND " +
+            "(:category IS NULL OR a.category = :category) AND " +
+            "a.artifactId IN :artifactIds",
+            countQuery = "SELECT COUNT(a) FROM Artifact a " +
+                    "WHERE " +
+                    "a.visibility = 'PUBLIC' AND " +
+                    "(:category IS NULL OR a.category = :category) AND " +
+                    "a.artifactId IN :artifactIds")
+    Page<ArtifactListItemResponseDTO> searchPublicIn(
+            @Param("category") FlowType category,
+            @Param("artifactIds") Collection<Long> artifactIds,
+            Pageable pageable
+    );
+
+    // 검색 인덱스 재구축용 (PK keyset 페이징)
+    @Query("SELECT new com.ayno.aynobe.dto.artifact.ArtifactTitleDTO(a.artifactId, a.artifactTitle) " +
+            "FROM Artifact a " +
+            "WHERE a.visibility = 'PUBLIC' AND a.artifactId > :afterId " +
+            "ORDER BY a.artifactId ASC")
+    List<ArtifactTitleDTO> findPublicTitlesAfter(
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
     @Query("SELECT a FROM Artifact a " +
             "JOIN FETCH a.user u " +
             "LEFT JOIN FETCH a.medias m " +
             "WHERE a.artifactId = :artifactId")
     Optional<Artifact> findDetailById(@Param("artifactId") Long artifactId);
 
-    @Query("SELECT a FROM Artifact a " +
+    @Query("SELECT new com.ayno.aynobe.dto.artifact.ArtifactCountersDTO(a.viewCount, a.likeCount) " +
+            "FROM Artifact a WHERE a.artifactId = :artifactId")
+    Optional<ArtifactCountersDTO> findCountersById(@Param("artifactId") Long artifactId);
+
+    @Query("SELECT new com.ayno.aynobe.dto.artifact.ArtifactVersionDTO(a.version, a.updatedAt, u.updatedAt, a.likeCount) " +
+            "FROM Artifact a JOIN a.user u WHERE a.artifactId = :artifactId")
+    Optional<ArtifactVersionDTO> findVersionById(@Param("artifactId") Long artifactId);
+
+    // 수정용: 미디어만 바뀌어도 커밋 시 version 을 올려 ETag 가 바뀌게 한다
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<Artifact> findForUpdateByArtifactId(Long artifactId);
+
+    @Query(value = "SELECT " + MY_LIST_ITEM_PROJECTION +
+            "FROM Artifact a " +
             "WHERE a.user.userId = :userId " +
             "AND (:visibility IS NULL OR a.visibility = :visibility) " +
-            "ORDER BY a.createdAt DESC")
-    Page<Artifact> findAllMyArtifacts(
+            "ORDER BY a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Artifact a " +
+                    "WHERE a.user.userId = :userId " +
+                    "AND (:visibility IS NULL OR a.visibility = :visibility)")
+    Page<MyArtifactListItemResponseDTO> findAllMyArtifacts(
             @Param("userId") Long userId,
             @Param("visibility") VisibilityType visibilityType,
             Pageable pageable
     );
 
-    @Query("SELECT a FROM Artifact a " +
+    @Query(value = "SELECT " + MY_LIST_ITEM_PROJECTION +
+            "FROM Artifact a " +
             "JOIN Reaction r ON a.artifactId = r.targetId " +
             "WHERE r.user.userId = :userId " +
             "AND r.targetType = 'ARTIFACT' " +
             "AND r.reactionType = 'LIKE' " +
             "AND a.visibility = 'PUBLIC' " +
-            "ORDER BY r.createdAt DESC")
-    Page<Artifact> findLikedArtifacts(
+            "ORDER BY r.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Artifact a " +
+                    "JOIN Reaction r ON a.artifactId = r.targetId " +
+                    "WHERE r.user.userId = :userId " +
+                    "AND r.targetType = 'ARTIFACT' " +
+                    "AND r.reactionType = 'LIKE' " +
+                    "AND a.visibility = 'PUBLIC'")
+    Page<MyArtifactListItemResponseDTO> findLikedArtifacts(
             @Param("userId") Long userId,
             Pageable pageable
     );
@@ -73,8 +153,11 @@ public interface ArtifactRepository extends JpaRepository<Artifact, Long> {
             "where a.artifactId = :artifactId")
     int increaseViewCount(Long artifactId);
 
-    @Query("SELECT a FROM Artifact a " +
-            "LEFT JOIN a.user u " + // 작성자 정보 검색을 위해 조인
+    @Query(value = "SELECT new com.ayno.aynobe.dto.admin.AdminArtifactResponseDTO(" +
+            "a.artifactId, a.artifactTitle, a.workflow.workflowId, " +
+            "u.userId, u.nickname, u.username, a.visibility, a.viewCount, a.createdAt) " +
+            "FROM Artifact a " +
+            "JOIN a.user u " + // 작성자 정보 검색을 위해 조인
             "WHERE " +
             "(:status IS NULL OR a.visibility = :status) AND " + // 상태 필터
             "(" +
@@ -85,8 +168,21 @@ public interface ArtifactRepository extends JpaRepository<Artifact, Long> {
             "       u.username LIKE CONCAT('%', :keyword, '%')" +          // 이메일 검색
             "   )) OR " +
             "   (:artifactId IS NULL AND :keyword IS NULL)" + // 검색어 없으면 전체
-            ")")
-    Page<Artifact> searchArtifactsForAdmin(
+            ")",
+            countQuery = "SELECT COUNT(a) FROM Artifact a " +
+                    "JOIN a.user u " +
+                    "WHERE " +
+                    "(:status IS NULL OR a.visibility = :status) AND " + // 상태 필터
+                    "(" +
+                    "   (:artifactId IS NOT NULL AND a.artifactId = :artifactId) OR " + // ID 검색
+                    "   (:keyword IS NOT NULL AND (" +
+                    "       a.artifactTitle LIKE CONCAT('%', :keyword, '%') OR " +      // 제목 검색
+                    "       u.nickname LIKE CONCAT('%', :keyword, '%') OR " +   // 닉네임 검색
+                    "       u.username LIKE CONCAT('%', :keyword, '%')" +          // 이메일 검색
+                    "   )) OR " +
+                    "   (:artifactId IS NULL AND :keyword IS NULL)" + // 검색어 없으면 전체
+                    ")")
+    Page<AdminArtifactResponseDTO> searchArtifactsForAdmin(
             @Param("status") VisibilityType status,
             @Param("artifactId") Long artifactId,
             @Param("keyword") String keyword,
@@ -0,0 +1,26 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.dto.artifact.ArtifactCursor;
+import com.ayno.aynobe.dto.artifact.ArtifactListItemResponseDTO;
+import com.ayno.aynobe.entity.enums.FlowType;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ArtifactRepositoryCustom {
+
+    /**
+     * 공개 결과물 커서(keyset) 조회. COUNT 쿼리 없이 limit 만큼만 읽는다.
+     * (정렬 필드, artifactId) 가 cursor 보다 뒤에 있는 행만 반환한다.
+     * artifactIds 가 주어지면 keyword LIKE 대신 해당 ID 안에서만 조회한다. (검색 인덱스 결과)
+     */
+    List<ArtifactListItemResponseDTO> scrollPublic(
+            FlowType category,
+            String keyword,
+            Collection<Long> artifactIds,
+            Sort.Order order,
+            ArtifactCursor after,
+            int limit
+    );
+}
@@ -0,0 +1,79 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.dto.artifact.ArtifactCursor;
+import com.ayno.aynobe.dto.artifact.ArtifactListItemResponseDTO;
+import com.ayno.aynobe.entity.enums.FlowType;
+import com.ayno.aynobe.entity.enums.VisibilityType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public class ArtifactRepositoryCustomImpl implements ArtifactRepositoryCustom {
+
+    // JPQL에 그대로 들어가므로 화이트리스트로만 허용
+    private static final Set<String> SORTABLE = Set.of("createdAt", "likeCount", "viewCount");
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<ArtifactListItemResponseDTO> scrollPublic(
+            FlowType category,
+            String keyword,
+            Collection<Long> artifactIds,
+            Sort.Order order,
+            ArtifactCursor after,
+            int limit
+    ) {
+        String field = order.getProperty();
+        if (!SORTABLE.contains(field)) {
+            throw new IllegalArgumentException("정렬할 수 없는 필드: " + field);
+        }
+        String dir = order.isAscending() ? "ASC" : "DESC";
+        String cmp = order.isAscending() ? ">" : "<";
+
+        StringBuilder jpql = new StringBuilder("SELECT ")
+                .append(ArtifactRepository.LIST_ITEM_PROJECTION)
+                .append("FROM Artifact a ")
+                .append("JOIN a.user u ")
+                .append("WHERE a.visibility = :visibility");
+        if (category != null) {
+            jpql.append(" AND a.category = :category");
+        }
+        if (artifactIds != null) {
+            jpql.append(" AND a.artifactId IN :artifactIds");
+        } else if (keyword != null) {
+            jpql.append(" AND a.artifactTitle LIKE CONCAT('%', :keyword, '%')");
+        }
+        if (after != null) {
+            // (field, artifactId) 튜플 비교: field가 같으면 artifactId로 동률 처리
+            jpql.append(" AND (a.").append(field).append(' ').append(cmp).append(" :cursorValue")
+                    .append(" OR (a.").append(field).append(" = :cursorValue")
+                    .append(" AND a.artifactId ").append(cmp).append(" :cursorId))");
+        }
+        jpql.append(" ORDER BY a.").append(field).append(' ').append(dir)
+                .append(", a.artifactId ").append(dir);
+
+        TypedQuery<ArtifactListItemResponseDTO> query = em.createQuery(jpql.toString(), ArtifactListItemResponseDTO.class)
+                .setParameter("visibility", VisibilityType.PUBLIC)
+                .setMaxResults(limit);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (artifactIds != null) {
+            query.setParameter("artifactIds", artifactIds);
+        } else if (keyword != null) {
+            query.setParameter("keyword", keyword);
+        }
+        if (after != null) {
+            query.setParameter("cursorValue", after.sortValue());
+            query.setParameter("cursorId", after.artifactId());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.config.util.DatabaseDialect;
+import com.ayno.aynobe.entity.enums.MediaJobType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * media_job 선점(claim) 전용 JDBC 접근.
+ * 잠금은 호출자 트랜잭션이 끝날 때까지 유지되므로 반드시 트랜잭션 안에서 호출한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MediaJobJdbcRepository {
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    /** 선점한 작업 (워커가 다시 조회하지 않도록 실행에 필요한 값까지) */
+    public record ClaimedJob(Long jobId, MediaJobType type, String baseKey, int attempts) {
+    }
+
+    /**
+     * 실행 시각이 된 PENDING 작업(types 중)을 최대 limit 건 잠그고 RUNNING 으로 바꾼다.
+     * - MySQL: FOR UPDATE SKIP LOCKED → 다른 인스턴스가 잠근 행은 기다리지 않고 건너뜀
+     * - H2(로컬): SKIP LOCKED 미지원 → FOR UPDATE (단일 인스턴스라 경합 없음)
+     */
+    public List<ClaimedJob> claimDue(LocalDateTime now, int limit, Collection<MediaJobType> types) {
+        if (limit <= 0 || types.isEmpty()) return List.of();
+
+        String lock = dialect.isMySql() ? " FOR UPDATE SKIP LOCKED" : " FOR UPDATE";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("limit", limit)
+                .addValue("types", types.stream().map(Enum::name).toList());
+
+        List<ClaimedJob> jobs = namedJdbcTemplate.query(
+                "SELECT job_id, type, base_key, attempts FROM media_job " +
+                "WHERE status = 'PENDING' AND next_run_at <= :now AND type IN (:types) " +
+                "ORDER BY next_run_at, job_id LIMIT :limit" + lock,
+                params,
+                (rs, i) -> new ClaimedJob(
+                        rs.getLong("job_id"),
+                        MediaJobType.valueOf(rs.getString("type")),
+                        rs.getString("base_key"),
+                        rs.getInt("attempts")));
+        if (jobs.isEmpty()) return jobs;
+
+        namedJdbcTemplate.update(
+                "UPDATE media_job SET status = 'RUNNING', locked_at = :now WHERE job_id IN (:ids)",
+                params.addValue("ids", jobs.stream().map(ClaimedJob::jobId).toList()));
+        return jobs;
+    }
+
+    /** 실행 시각이 지났는데 아직 대기 중인 가장 오래된 작업의 예정 시각 (없으면 null) */
+    public LocalDateTime findOldestDueAt(LocalDateTime now) {
+        Timestamp oldest = namedJdbcTemplate.queryForObject(
+                "SELECT MIN(next_run_at) FROM media_job WHERE status = 'PENDING' AND next_run_at <= :now",
+                new MapSqlParameterSource("now", Timestamp.valueOf(now)),
+                Timestamp.class);
+        return oldest != null ? oldest.toLocalDateTime() : null;
+    }
+}
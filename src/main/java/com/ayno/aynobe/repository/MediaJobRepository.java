@@ -0,0 +1,25 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.entity.MediaJob;
+import com.ayno.aynobe.entity.enums.MediaJobStatus;
+import com.ayno.aynobe.entity.enums.MediaJobType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface MediaJobRepository extends JpaRepository<MediaJob, Long> {
+
+    Optional<MediaJob> findFirstByTypeAndBaseKeyOrderByJobIdDesc(MediaJobType type, String baseKey);
+
+    long countByStatus(MediaJobStatus status);
+
+    /** lockedAt 이 오래된 RUNNING 은 워커가 죽은 것으로 보고 대기 상태로 되돌린다 */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update MediaJob j set j.status = 'PENDING', j.lockedAt = null, j.nextRunAt = :now " +
+            "where j.status = 'RUNNING' and j.lockedAt < :staleBefore")
+    int releaseStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,54 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.config.util.DatabaseDialect;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+
+/**
+ * DB 가 참조하는 미디어 baseKey 전체를 훑는 JDBC 접근 (S3 고아 파일 정리용).
+ * 결과를 메모리에 모으지 않도록 forward-only 커서로 한 행씩 넘긴다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MediaReferenceJdbcRepository {
+
+    private static final String[] QUERIES = {
+            "SELECT base_key FROM artifact_media",
+            "SELECT base_key FROM step_section WHERE base_key IS NOT NULL"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    /** 참조 개수 상한 (중복 포함) — 블룸 필터 크기 산정용 */
+    public long countReferences() {
+        Long media = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM artifact_media", Long.class);
+        Long sections = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM step_section WHERE base_key IS NOT NULL", Long.class);
+        return (media == null ? 0 : media) + (sections == null ? 0 : sections);
+    }
+
+    /**
+     * artifact_media, step_section 의 baseKey 를 차례로 흘려보낸다.
+     * - MySQL: fetchSize = Integer.MIN_VALUE → 드라이버가 행 단위 스트리밍
+     * - H2: 일반 fetchSize
+     */
+    public void streamReferencedBaseKeys(Consumer<String> consumer) {
+        int fetchSize = dialect.isMySql() ? Integer.MIN_VALUE : 1000;
+        for (String sql : QUERIES) {
+            jdbcTemplate.query(
+                    con -> {
+                        PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        ps.setFetchSize(fetchSize);
+                        return ps;
+                    },
+                    (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+        }
+    }
+}
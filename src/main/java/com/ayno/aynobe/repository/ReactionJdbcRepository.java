@@ -0,0 +1,66 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.config.util.DatabaseDialect;
+import com.ayno.aynobe.entity.enums.ReactionType;
+import com.ayno.aynobe.entity.enums.TargetType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 좋아요 토글 전용 JDBC 접근.
+ * uq_reaction_active 유니크 키에 기대서 "있으면 무시" 를 한 문장으로 처리한다. (조회 후 insert 경쟁 없음)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactionJdbcRepository {
+
+    private static final String MYSQL_INSERT_IGNORE =
+            "INSERT IGNORE INTO reaction (user_id, target_type, target_id, reaction_type, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String H2_INSERT_IF_ABSENT =
+            "MERGE INTO reaction t " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(20)), CAST(? AS BIGINT), CAST(? AS VARCHAR(20)), " +
+            "CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+            "s(user_id, target_type, target_id, reaction_type, created_at, updated_at) " +
+            "ON t.user_id = s.user_id AND t.target_type = s.target_type " +
+            "AND t.target_id = s.target_id AND t.reaction_type = s.reaction_type " +
+            "WHEN NOT MATCHED THEN INSERT (user_id, target_type, target_id, reaction_type, created_at, updated_at) " +
+            "VALUES (s.user_id, s.target_type, s.target_id, s.reaction_type, s.created_at, s.updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    /**
+     * 리액션이 없을 때만 추가한다.
+     *
+     * @return 실제로 새 행이 들어갔으면 true (이미 있었으면 false)
+     */
+    public boolean insertIfAbsent(Long userId, TargetType targetType, Long targetId, ReactionType reactionType) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now()); // JDBC 경로라 auditing 대신 직접 채움
+        try {
+            int rows = jdbcTemplate.update(
+                    dialect.isMySql() ? MYSQL_INSERT_IGNORE : H2_INSERT_IF_ABSENT,
+                    userId, targetType.name(), targetId, reactionType.name(), now, now
+            );
+            return rows == 1;
+        } catch (DuplicateKeyException raced) {
+            // H2 MERGE 는 동시 insert 경쟁에서 유니크 위반을 던질 수 있다 → 이미 있는 것과 같음
+            return false;
+        }
+    }
+
+    /** @return 실제로 지워졌으면 true */
+    public boolean delete(Long userId, TargetType targetType, Long targetId, ReactionType reactionType) {
+        int rows = jdbcTemplate.update(
+                "DELETE FROM reaction WHERE user_id = ? AND target_type = ? AND target_id = ? AND reaction_type = ?",
+                userId, targetType.name(), targetId, reactionType.name()
+        );
+        return rows > 0;
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ReactionRepository extends JpaRepository<Reaction, Long> {
@@ -25,4 +27,15 @@ public interface ReactionRepository extends JpaRepository<Reaction, Long> {
                                       @Param("reactionType") ReactionType reactionType);
 
     void deleteByTargetIdAndTargetType(Long targetId, TargetType targetType);
+
+    // 한 페이지 분량의 대상 중 사용자가 반응한 ID (userId 선두 인덱스로 조회)
+    @Query("select r.targetId from Reaction r " +
+            "where r.user.userId = :userId " +
+            "and r.reactionType = :reactionType " +
+            "and r.targetType = :targetType " +
+            "and r.targetId in :targetIds")
+    List<Long> findReactedTargetIds(@Param("userId") Long userId,
+                                    @Param("targetType") TargetType targetType,
+                                    @Param("reactionType") ReactionType reactionType,
+                                    @Param("targetIds") Collection<Long> targetIds);
 }
@@ -0,0 +1,25 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.entity.S3CleanupRun;
+import com.ayno.aynobe.entity.enums.CleanupRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface S3CleanupRunRepository extends JpaRepository<S3CleanupRun, Long> {
+
+    Optional<S3CleanupRun> findFirstByStatusOrderByRunIdDesc(CleanupRunStatus status);
+
+    Optional<S3CleanupRun> findByRunDate(LocalDate runDate);
+
+    /** 실패로 끝난 실행을 다시 RUNNING 으로 (조건부 갱신 → 여러 인스턴스 중 하나만 1을 받는다) */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update S3CleanupRun r set r.status = 'RUNNING', r.finishedAt = null, r.updatedAt = :now " +
+            "where r.runId = :runId and r.status = 'FAILED'")
+    int reopenFailed(@Param("runId") Long runId, @Param("now") LocalDateTime now);
+}
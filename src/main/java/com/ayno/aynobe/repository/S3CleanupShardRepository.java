@@ -0,0 +1,18 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.entity.S3CleanupShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface S3CleanupShardRepository extends JpaRepository<S3CleanupShard, Long> {
+
+    List<S3CleanupShard> findByRunIdOrderByShardPrefixAsc(Long runId);
+
+    /** 샤드 체크포인트가 마지막으로 갱신된 시각 (다른 인스턴스가 아직 진행 중인지 판단용) */
+    @Query("SELECT MAX(s.updatedAt) FROM S3CleanupShard s WHERE s.runId = :runId")
+    LocalDateTime findLastCheckpointAt(@Param("runId") Long runId);
+}
@@ -1,5 +1,6 @@
 package com.ayno.aynobe.repository;
 
+import com.ayno.aynobe.dto.user.PrincipalVersionDTO;
 import com.ayno.aynobe.entity.User;
 import com.ayno.aynobe.entity.enums.UserStatus;
 import org.springframework.data.domain.Page;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -16,6 +18,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     boolean existsByNickname(String email);
 
+    @Query("SELECT new com.ayno.aynobe.dto.user.PrincipalVersionDTO(u.userId, u.principalVersion) " +
+            "FROM User u WHERE u.principalChangedAt >= :since")
+    List<PrincipalVersionDTO> findPrincipalChangesSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT u.profileImageUrl FROM User u WHERE u.profileImageUrl LIKE :pattern")
+    List<String> findProfileImageUrlsLike(@Param("pattern") String pattern);
+
     @Query("SELECT u FROM User u WHERE " +
             "(:status IS NULL OR u.status = :status) AND " +
             "(:startAt IS NULL OR u.createdAt >= :startAt) AND " +
@@ -0,0 +1,117 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.config.util.DatabaseDialect;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * view_log 배치 적재 전용 JDBC 접근. (ViewLogWriter 백그라운드 스레드에서만 사용)
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ViewLogJdbcRepository {
+
+    // 이미 있으면 무시 (진입 시각 유지). 무시된 행은 found rows 설정과 상관없이 영향 행 수 0
+    private static final String MYSQL_INSERT_IGNORE =
+            "INSERT IGNORE INTO view_log (artifact_id, user_id, entered_at, dwell_sec, visit_date) " +
+            "VALUES (?, ?, ?, 0, ?)";
+
+    private static final String H2_UPSERT =
+            "MERGE INTO view_log t " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP), CAST(? AS DATE))) " +
+            "s(artifact_id, user_id, entered_at, visit_date) " +
+            "ON t.artifact_id = s.artifact_id AND t.user_id = s.user_id AND t.visit_date = s.visit_date " +
+            "WHEN NOT MATCHED THEN INSERT (artifact_id, user_id, entered_at, dwell_sec, visit_date) " +
+            "VALUES (s.artifact_id, s.user_id, s.entered_at, 0, s.visit_date)";
+
+    private static final String UPDATE_DWELL =
+            "UPDATE view_log SET dwell_sec = GREATEST(0, TIMESTAMPDIFF(SECOND, entered_at, ?)) " +
+            "WHERE artifact_id = ? AND user_id = ? AND visit_date = ?";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public record VisitKey(Long artifactId, Long userId, LocalDate visitDate) {
+    }
+
+    /** 존재하는 결과물 ID 만 (없는 ID 가 섞이면 FK 위반으로 배치 전체가 실패하므로 미리 거른다) */
+    public Set<Long> findExistingArtifactIds(Collection<Long> artifactIds) {
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT artifact_id FROM artifact WHERE artifact_id IN (:artifactIds)",
+                new MapSqlParameterSource("artifactIds", artifactIds),
+                Long.class
+        ));
+    }
+
+    /** 해당 방문일에 이미 기록된 (artifactId, userId) 조합 */
+    public Set<VisitKey> findExisting(LocalDate visitDate, Collection<Long> userIds, Collection<Long> artifactIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("visitDate", visitDate)
+                .addValue("userIds", userIds)
+                .addValue("artifactIds", artifactIds);
+
+        List<VisitKey> rows = namedJdbcTemplate.query(
+                "SELECT artifact_id, user_id FROM view_log " +
+                "WHERE visit_date = :visitDate AND user_id IN (:userIds) AND artifact_id IN (:artifactIds)",
+                params,
+                (rs, i) -> new VisitKey(rs.getLong("artifact_id"), rs.getLong("user_id"), visitDate)
+        );
+        return new HashSet<>(rows);
+    }
+
+    /**
+     * 진입 로그를 배치 upsert 한다. (이미 있는 키는 건드리지 않음)
+     *
+     * @return 실제로 새로 들어간 키
+     */
+    public List<VisitKey> insertIfAbsent(Map<VisitKey, LocalDateTime> entries) {
+        if (entries.isEmpty()) return List.of();
+
+        List<VisitKey> keys = new ArrayList<>(entries.keySet());
+        List<Object[]> args = new ArrayList<>(keys.size());
+        for (VisitKey k : keys) {
+            args.add(new Object[]{k.artifactId(), k.userId(), Timestamp.valueOf(entries.get(k)), k.visitDate()});
+        }
+
+        int[] counts = namedJdbcTemplate.getJdbcTemplate()
+                .batchUpdate(dialect.isMySql() ? MYSQL_INSERT_IGNORE : H2_UPSERT, args);
+
+        // 이 배치가 실제로 넣은 행(영향 행 수 1)만 신규로 본다.
+        // findExisting 사전 조회와 insert 사이에 다른 인스턴스가 먼저 넣었으면 여기서 0 이 되어 빠진다.
+        // (rewriteBatchedStatements 를 켜면 SUCCESS_NO_INFO 만 돌아와 판정할 수 없으므로 신규로 세지 않는다)
+        List<VisitKey> inserted = new ArrayList<>();
+        int unknown = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 1) {
+                inserted.add(keys.get(i));
+            } else if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                unknown++;
+            }
+        }
+        if (unknown > 0) {
+            log.warn("[VIEWLOG] 배치 결과에 행별 영향 수가 없어 {}건을 신규로 세지 않음 (rewriteBatchedStatements 확인)", unknown);
+        }
+        return inserted;
+    }
+
+    /** 종료 시각 기준으로 체류시간(초)을 배치 갱신한다. (진입 로그가 없으면 무시) */
+    public void updateDwell(Map<VisitKey, LocalDateTime> exits) {
+        if (exits.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(exits.size());
+        exits.forEach((k, exitAt) ->
+                args.add(new Object[]{Timestamp.valueOf(exitAt), k.artifactId(), k.userId(), k.visitDate()}));
+
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_DWELL, args);
+    }
+}
@@ -1,11 +1,16 @@
 package com.ayno.aynobe.repository;
 
+import com.ayno.aynobe.dto.workflow.WorkflowVersionDTO;
 import com.ayno.aynobe.entity.Workflow;
 import com.ayno.aynobe.entity.enums.FlowType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -26,4 +31,17 @@ public interface WorkflowRepository extends JpaRepository<Workflow, Long> {
             "workflowSteps.tool"
     })
     Optional<Workflow> findWithAllByWorkflowId(Long workflowId);
+
+    // 수정용: 디테일과 같은 그래프 + 커밋 시 version 강제 증가 (스텝/섹션만 바뀌어도 ETag 갱신)
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @EntityGraph(attributePaths = {
+            "user",
+            "workflowSteps",
+            "workflowSteps.tool"
+    })
+    Optional<Workflow> findForUpdateByWorkflowId(Long workflowId);
+
+    @Query("SELECT new com.ayno.aynobe.dto.workflow.WorkflowVersionDTO(w.version, w.updatedAt, w.user.userId) " +
+            "FROM Workflow w WHERE w.workflowId = :workflowId")
+    Optional<WorkflowVersionDTO> findVersionById(@Param("workflowId") Long workflowId);
 }
@@ -1,18 +1,25 @@
 package com.ayno.aynobe.service;
 
 import com.ayno.aynobe.config.exception.CustomException;
+import com.ayno.aynobe.config.util.AfterCommit;
+import com.ayno.aynobe.config.util.ETags;
 import com.ayno.aynobe.dto.artifact.*;
+import com.ayno.aynobe.dto.common.CursorPageResponseDTO;
 import com.ayno.aynobe.dto.common.PageResponseDTO;
 import com.ayno.aynobe.entity.Artifact;
 import com.ayno.aynobe.entity.ArtifactMedia;
 import com.ayno.aynobe.entity.User;
 import com.ayno.aynobe.entity.Workflow;
 import com.ayno.aynobe.entity.enums.FlowType;
+import com.ayno.aynobe.entity.enums.MediaJobType;
 import com.ayno.aynobe.entity.enums.ReportTargetType;
 import com.ayno.aynobe.entity.enums.TargetType;
 import com.ayno.aynobe.entity.enums.VisibilityType;
 import com.ayno.aynobe.repository.*;
-import com.ayno.aynobe.service.s3.S3Service;
+import com.ayno.aynobe.service.cache.ArtifactDetailCache;
+import com.ayno.aynobe.service.counter.ViewCountBuffer;
+import com.ayno.aynobe.service.job.MediaJobService;
+import com.ayno.aynobe.service.search.ArtifactSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
@@ -23,6 +30,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -33,9 +41,18 @@ public class ArtifactService {
     private final StepSectionRepository stepSectionRepository;
     private final ReportRepository reportRepository;
     private final ReactionRepository reactionRepository;
-    private final S3Service s3Service;
+    private final MediaJobService mediaJobService;
+    private final ArtifactSearchIndex artifactSearchIndex;
+    private final ViewCountBuffer viewCountBuffer;
+    private final ReactionService reactionService;
+    private final ArtifactDetailCache artifactDetailCache;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    // 후보가 이보다 많으면 흔한 검색어 → IN 절 대신 LIKE 로 조회 (어차피 앞쪽 몇 건에서 LIMIT 이 찬다)
+    private static final int MAX_INDEXED_CANDIDATES = 1000;
 
     public PageResponseDTO<ArtifactListItemResponseDTO> getPublicArtifacts(
+            Long viewerId,
             FlowType category,
             String keyword,
             String sort,
@@ -48,14 +65,27 @@ public class ArtifactService {
                 resolveSort(sort)
         );
 
-        Page<Artifact> artifactPage = artifactRepository.searchPublic(category, keyword, sortedPageable);
+        Set<Long> candidateIds = findCandidateIds(keyword);
+        if (candidateIds != null && candidateIds.isEmpty()) {
+            return PageResponseDTO.<ArtifactListItemResponseDTO>builder()
+                    .content(List.of())
+                    .page(sortedPageable.getPageNumber())
+                    .size(sortedPageable.getPageSize())
+                    .totalElements(0)
+                    .totalPages(0)
+                    .hasNext(false)
+                    .build();
+        }
+
+        Page<ArtifactListItemResponseDTO> artifactPage = (candidateIds != null)
+                ? artifactRepository.searchPublicIn(category, candidateIds, sortedPageable)
+                : artifactRepository.searchPublic(category, keyword, sortedPageable);
 
-        List<ArtifactListItemResponseDTO> content = artifactPage.getContent().stream()
-                .map(ArtifactListItemResponseDTO::from)
-                .toList();
+        artifactPage.getContent().forEach(this::applyPendingViews);
+        applyLiked(viewerId, artifactPage.getContent());
 
         return PageResponseDTO.<ArtifactListItemResponseDTO>builder()
-                .content(content)
+                .content(artifactPage.getContent())
                 .page(artifactPage.getNumber())
                 .size(artifactPage.getSize())
                 .totalElements(artifactPage.getTotalElements())
@@ -64,11 +94,118 @@ public class ArtifactService {
                 .build();
     }
 
-    @Transactional
-    public ArtifactDetailResponseDTO getDetail(Long artifactId) {
+    public CursorPageResponseDTO<ArtifactListItemResponseDTO> getPublicArtifactsByCursor(
+            Long viewerId,
+            FlowType category,
+            String keyword,
+            String sort,
+            String cursor,
+            int size
+    ) {
+        Sort.Order order = resolveSort(sort).iterator().next();
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        ArtifactCursor after = (cursor == null || cursor.isBlank())
+                ? null
+                : ArtifactCursor.decode(cursor, order);
+
+        Set<Long> candidateIds = findCandidateIds(keyword);
+        if (candidateIds != null && candidateIds.isEmpty()) {
+            return CursorPageResponseDTO.<ArtifactListItemResponseDTO>builder()
+                    .content(List.of())
+                    .size(pageSize)
+                    .hasNext(false)
+                    .build();
+        }
+
+        // 한 건 더 읽어서 다음 페이지 존재 여부 판단 (COUNT 쿼리 생략)
+        List<ArtifactListItemResponseDTO> rows = artifactRepository.scrollPublic(category, keyword, candidateIds, order, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<ArtifactListItemResponseDTO> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ArtifactListItemResponseDTO last = content.get(content.size() - 1);
+            nextCursor = ArtifactCursor.of(order, sortValueOf(last, order.getProperty()), last.getArtifactId()).encode();
+        }
+        // 커서는 DB 값 기준이어야 하므로 커서 생성 이후에 버퍼분을 더한다
+        content.forEach(this::applyPendingViews);
+        applyLiked(viewerId, content);
+
+        return CursorPageResponseDTO.<ArtifactListItemResponseDTO>builder()
+                .content(content)
+                .size(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * 검색 인덱스로 제목 검색 후보를 구한다.
+     * null 이면 인덱스를 쓸 수 없는 경우(미구축, 1글자 검색어, 후보 과다) → LIKE 조회
+     */
+    private Set<Long> findCandidateIds(String keyword) {
+        if (keyword == null || !artifactSearchIndex.supports(keyword)) return null;
+        Set<Long> ids = artifactSearchIndex.search(keyword);
+        return ids.size() > MAX_INDEXED_CANDIDATES ? null : ids;
+    }
+
+    /**
+     * 상세 ETag: 미디어 없이 버전 행만 조회한다.
+     * 본문(버전/수정 시각), 작성자 프로필(작성자 수정 시각), 좋아요 수가 바뀌면 달라진다.
+     * 조회수는 포함하지 않는다 (조회마다 바뀌어 304 가 거의 나지 않게 되므로)
+     */
+    public ArtifactVersionDTO getDetailVersion(Long artifactId) {
+        return artifactRepository.findVersionById(artifactId)
+                .orElseThrow(() -> CustomException.notFound("Artifact with id " + artifactId + " not found"));
+    }
+
+    public String detailETag(Long artifactId, ArtifactVersionDTO v) {
+        return ETags.strong("a", artifactId, v.version(), v.updatedAt(), v.authorUpdatedAt(), v.likeCount());
+    }
+
+    /**
+     * 상세 조회: 본문(작성자/미디어 포함)은 캐시, 조회수는 매번 PK 조회로 최신값을 덮어쓴다.
+     * 캐시는 current 와 같은 버전으로 만든 항목만 쓰고, 좋아요 수도 current 값을 써서 본문이 ETag 와 어긋나지 않게 한다.
+     * (DB 에서 새로 읽은 본문은 current 이후 버전일 수만 있다 → 다음 요청에서 ETag 가 달라져 다시 받는다)
+     *
+     * @param current {@link #getDetailVersion} 결과 (ETag 계산에 쓴 값)
+     */
+    public ArtifactDetailResponseDTO getDetail(Long artifactId, ArtifactVersionDTO current) {
+        var cached = artifactDetailCache.get(artifactId, current);
+        if (cached.isPresent()) {
+            ArtifactCountersDTO counters = artifactRepository.findCountersById(artifactId)
+                    .orElse(null);
+            if (counters != null) {
+                ArtifactDetailResponseDTO dto = cached.get();
+                dto.setViewCount(counters.viewCount() + viewCountBuffer.pendingOf(artifactId));
+                dto.setLikeCount(current.likeCount());
+                return dto;
+            }
+            artifactDetailCache.evict(artifactId); // 그 사이 삭제됨
+        }
+
+        long generation = artifactDetailCache.currentGeneration();
         Artifact artifact = artifactRepository.findDetailById(artifactId)
                 .orElseThrow(() -> CustomException.notFound("Artifact with id " + artifactId + " not found"));
-        return ArtifactDetailResponseDTO.from(artifact);
+        ArtifactDetailResponseDTO dto = ArtifactDetailResponseDTO.from(artifact);
+        artifactDetailCache.put(artifactId, dto, ArtifactVersionDTO.of(artifact), generation);
+
+        dto.setViewCount(dto.getViewCount() + viewCountBuffer.pendingOf(artifactId));
+        return dto;
+    }
+
+    // 아직 DB 에 반영되지 않은 조회수를 더해서 보여준다
+    private void applyPendingViews(ArtifactListItemResponseDTO item) {
+        item.setViewCount(item.getViewCount() + viewCountBuffer.pendingOf(item.getArtifactId()));
+    }
+
+    // 로그인 사용자면 카드별 좋아요 여부를 한 번에 채운다 (비로그인은 null 유지)
+    private void applyLiked(Long viewerId, List<ArtifactListItemResponseDTO> items) {
+        if (viewerId == null || items.isEmpty()) return;
+        Set<Long> liked = reactionService.findLikedArtifactIds(viewerId,
+                items.stream().map(ArtifactListItemResponseDTO::getArtifactId).toList());
+        items.forEach(item -> item.setLiked(liked.contains(item.getArtifactId())));
     }
 
     @Transactional
@@ -94,6 +231,7 @@ public class ArtifactService {
 
         try {
             Artifact saved = artifactRepository.saveAndFlush(artifact);
+            artifactSearchIndex.syncAfterCommit(saved);
             return new ArtifactCreateResponseDTO(saved.getArtifactId());
         } catch (DataIntegrityViolationException e) {
             throw CustomException.badRequest("중복된 이미지가 포함되어 저장에 실패했습니다. : " + e);
@@ -108,7 +246,7 @@ public class ArtifactService {
 
     @Transactional
     public ArtifactUpdateResponseDTO update(User actor, Long artifactId, ArtifactUpdateRequestDTO dto) {
-        Artifact artifact = artifactRepository.findById(artifactId)
+        Artifact artifact = artifactRepository.findForUpdateByArtifactId(artifactId)
                 .orElseThrow(() -> CustomException.notFound("존재하지 않는 결과물입니다."));
 
         if (!artifact.getUser().getUserId().equals(actor.getUserId())) {
@@ -129,14 +267,10 @@ public class ArtifactService {
             // 기존 워크플로우가 있었는데, (1) 새 ID가 null이거나 (2) 새 ID가 기존 ID와 다르면
             // -> oldWorkflow는 '고아'가 되어 DB에서 삭제될 예정입니다. (by orphanRemoval)
 
-            // DB 레코드가 삭제되기 전에, S3에 저장된 섹션 파일들을 *먼저* 수동으로 삭제합니다.
+            // S3에 저장된 섹션 파일 삭제를 같은 트랜잭션에서 작업 큐에 넣습니다. (커밋된 경우에만 워커가 삭제)
             // (N+1 방지를 위해 baseKey 목록을 한번에 조회)
             List<String> sectionBaseKeys = stepSectionRepository.findAllBaseKeysByWorkflowId(oldWorkflow.getWorkflowId());
-            for (String baseKey : sectionBaseKeys) {
-                if (baseKey != null && !baseKey.isBlank()) {
-                    s3Service.deleteS3MediaSet(baseKey); // (public/private 모두 삭제하는 헬퍼)
-                }
-            }
+            mediaJobService.enqueueAll(MediaJobType.DELETE_MEDIA_SET, sectionBaseKeys); // (public/private 모두 삭제)
         }
 
         // ★ 5. (수정) 변수명을 newWorkflow로 명확히 하고, DTO의 ID로 새 프록시를 로드합니다.
@@ -156,6 +290,8 @@ public class ArtifactService {
 
         try {
             Artifact saved = artifactRepository.saveAndFlush(artifact);
+            artifactSearchIndex.syncAfterCommit(saved);
+            AfterCommit.run(() -> artifactDetailCache.evict(artifactId));
             return ArtifactUpdateResponseDTO.builder()
                     .artifactId(saved.getArtifactId())
                     .build();
@@ -174,37 +310,41 @@ public class ArtifactService {
             throw CustomException.forbidden("본인이 등록한 결과물만 삭제할 수 있습니다.");
         }
 
-        // S3 물리적 파일 삭제
+        // S3 물리적 파일 삭제 → 같은 트랜잭션에서 작업 큐에 적재 (커밋 후 워커가 삭제/재시도)
         Workflow workflow = artifact.getWorkflow();
         if (workflow != null) {
             Long workflowId = workflow.getWorkflowId();
 
             // 워크플로우 ID로 모든 섹션의 baseKey를 한번에 조회 (N+1 방지)
             List<String> sectionBaseKeys = stepSectionRepository.findAllBaseKeysByWorkflowId(workflowId);
-
-            for (String baseKey : sectionBaseKeys) {
-                if (baseKey != null && !baseKey.isBlank()) {
-                    s3Service.deleteS3MediaSet(baseKey);
-                }
-            }
+            mediaJobService.enqueueAll(MediaJobType.DELETE_MEDIA_SET, sectionBaseKeys);
         }
 
         // 아티팩트 본문 미디어 삭제
-        for (ArtifactMedia media : artifact.getMedias()) {
-            s3Service.deleteS3MediaSet(media.getBaseKey());
-        }
+        mediaJobService.enqueueAll(MediaJobType.DELETE_MEDIA_SET,
+                artifact.getMedias().stream().map(ArtifactMedia::getBaseKey).toList());
 
         reportRepository.deleteByTargetIdAndTargetType(artifactId, ReportTargetType.ARTIFACT);
 
         reactionRepository.deleteByTargetIdAndTargetType(artifactId, TargetType.ARTIFACT);
 
         artifactRepository.delete(artifact);
+        artifactSearchIndex.removeAfterCommit(artifactId);
+        AfterCommit.run(() -> artifactDetailCache.evict(artifactId));
 
         return ArtifactDeleteResponseDTO.builder()
                 .artifactId(artifactId)
                 .build();
     }
 
+    private static Object sortValueOf(ArtifactListItemResponseDTO item, String field) {
+        return switch (field) {
+            case "likeCount" -> item.getLikeCount();
+            case "viewCount" -> item.getViewCount();
+            default -> item.getCreatedAt();
+        };
+    }
+
     private Sort resolveSort(String sort) {
         String field = "createdAt";
         Sort.Direction dir = Sort.Direction.DESC;
@@ -3,6 +3,7 @@ package com.ayno.aynobe.service;
 import com.ayno.aynobe.config.exception.CustomException;
 import com.ayno.aynobe.config.security.CustomUserDetails;
 import com.ayno.aynobe.config.security.service.JwtService;
+import com.ayno.aynobe.config.security.service.RefreshTokenService;
 import com.ayno.aynobe.dto.auth.*;
 import com.ayno.aynobe.entity.User;
 import com.ayno.aynobe.entity.enums.AgeBand;
@@ -25,15 +26,18 @@ public class AuthService {
     private final JwtService jwtService;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthService(@Qualifier("userAuthManager") AuthenticationManager authenticationManager,
                        JwtService jwtService,
                        UserRepository userRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @Transactional
@@ -45,7 +49,7 @@ public class AuthService {
         CustomUserDetails principal = (CustomUserDetails) auth.getPrincipal();
 
         String access  = jwtService.generateAccessToken(principal);
-        String refresh = jwtService.generateRefreshToken(principal);
+        String refresh = refreshTokenService.issue(principal, false);
 
         return LoginTokensDTO.builder()
                 .accessToken(access)
@@ -0,0 +1,131 @@
+package com.ayno.aynobe.service;
+
+import com.ayno.aynobe.config.security.service.PrincipalCache;
+import com.ayno.aynobe.config.util.AfterCommit;
+import com.ayno.aynobe.config.util.MediaPathGenerator;
+import com.ayno.aynobe.entity.User;
+import com.ayno.aynobe.entity.enums.MediaJobType;
+import com.ayno.aynobe.entity.enums.UploadScope;
+import com.ayno.aynobe.repository.UserRepository;
+import com.ayno.aynobe.service.cache.ArtifactDetailCache;
+import com.ayno.aynobe.service.job.MediaJobService;
+import com.ayno.aynobe.service.s3.MediaVariantRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 프로필 이미지 URL 관리.
+ *
+ * - 업로드 직후에는 원본 URL 을 저장하고 GENERATE_AVATARS 작업을 적재한다
+ * - 워커가 아바타(s256/s128/s64.jpg)를 만든 뒤 {@link #applyAvatar} 로 URL 을 아바타로 바꾼다
+ *   (그사이 사용자가 다른 이미지로 바꿨으면 건드리지 않음)
+ * - 목록 카드 등에는 저장된 아바타 URL 이 그대로 쓰인다
+ */
+@Slf4j
+@Service
+public class ProfileImageService {
+
+    private final UserRepository userRepository;
+    private final MediaJobService mediaJobService;
+    private final ArtifactDetailCache artifactDetailCache;
+    private final PrincipalCache principalCache;
+    private final MediaPathGenerator pathGen;
+    private final MediaVariantRegistry variants;
+    private final String cdnDomain;
+    private final int urlSize;
+
+    public ProfileImageService(UserRepository userRepository,
+                               MediaJobService mediaJobService,
+                               ArtifactDetailCache artifactDetailCache,
+                               PrincipalCache principalCache,
+                               MediaPathGenerator pathGen,
+                               MediaVariantRegistry variants,
+                               @Value("${media.cloudfront.domain}") String cdnDomain,
+                               @Value("${app.avatar.url-size:128}") int urlSize) {
+        this.userRepository = userRepository;
+        this.mediaJobService = mediaJobService;
+        this.artifactDetailCache = artifactDetailCache;
+        this.principalCache = principalCache;
+        this.pathGen = pathGen;
+        this.variants = variants;
+        this.cdnDomain = cdnDomain;
+        this.urlSize = urlSize;
+    }
+
+    /** "https://cdn.../prod/public/user/1/uploads/profile/abc/original.jpg" */
+    public String originalUrl(String baseKey) {
+        return cdnDomain + "/" + pathGen.toPublicKey(baseKey);
+    }
+
+    /** "https://cdn.../prod/public/user/1/uploads/profile/abc/s128.jpg" */
+    public String avatarUrl(String baseKey) {
+        return originalUrl(baseKey).replaceAll("/original\\.[^.]+$", "/" + variants.avatarFileName(urlSize));
+    }
+
+    /** 아바타를 만들 수 있는 프로필 업로드인지 (user/{id}/uploads/profile/{uuid}/original.{ext}) */
+    public boolean isProfileUpload(String baseKey) {
+        String[] parts = baseKey.split("/");
+        return parts.length > 3
+                && UploadScope.PROFILE.name().equalsIgnoreCase(parts[3])
+                && baseKey.contains("/original.")
+                && variants.isImage(baseKey.substring(baseKey.lastIndexOf('.') + 1).toLowerCase());
+    }
+
+    /** 호출자 트랜잭션 안에서 원본 URL 저장 + 아바타 생성 작업 적재 */
+    @Transactional
+    public void changeProfileImage(User user, String baseKey) {
+        user.changeProfileImageUrl(originalUrl(baseKey));
+        if (isProfileUpload(baseKey)) {
+            mediaJobService.enqueue(MediaJobType.GENERATE_AVATARS, baseKey);
+        }
+    }
+
+    /** 아바타 생성 완료 후 워커에서 호출: 아직 이 원본을 쓰고 있으면 아바타 URL 로 바꾼다. */
+    @Transactional
+    public void applyAvatar(String baseKey) {
+        Long userId = parseUserId(baseKey);
+        if (userId == null) return;
+
+        userRepository.findById(userId).ifPresent(user -> {
+            if (!Objects.equals(user.getProfileImageUrl(), originalUrl(baseKey))) return; // 이미 바뀜
+            user.changeProfileImageUrl(avatarUrl(baseKey));
+            AfterCommit.run(() -> {
+                artifactDetailCache.evictByUser(userId); // 상세에 프로필 이미지 포함
+                principalCache.evictUser(user.getUsername());
+            });
+        });
+    }
+
+    /**
+     * 기존 사용자 이관: 원본 URL 을 그대로 쓰고 있는 사용자마다 아바타 생성 작업을 적재한다.
+     * (OAuth 로 받은 외부 URL 은 대상 아님) 이미 아바타로 바뀐 사용자는 조회되지 않으므로 여러 번 호출해도 된다.
+     * @return 적재한 작업 수
+     */
+    @Transactional
+    public int enqueueAvatarMigration() {
+        String urlPrefix = cdnDomain + "/" + pathGen.toPublicKey("");
+        List<String> baseKeys = userRepository.findProfileImageUrlsLike(urlPrefix + "user/%/uploads/profile/%/original.%")
+                .stream()
+                .map(url -> url.substring(urlPrefix.length()))
+                .filter(this::isProfileUpload)
+                .toList();
+        mediaJobService.enqueueAll(MediaJobType.GENERATE_AVATARS, baseKeys);
+        log.info("[AVATAR] 프로필 아바타 이관 작업 {}건 적재", baseKeys.size());
+        return baseKeys.size();
+    }
+
+    private static Long parseUserId(String baseKey) {
+        String[] parts = baseKey.split("/");
+        if (parts.length < 2 || !"user".equals(parts[0])) return null;
+        try {
+            return Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
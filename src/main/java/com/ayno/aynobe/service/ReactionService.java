@@ -1,24 +1,37 @@
 package com.ayno.aynobe.service;
 
 import com.ayno.aynobe.config.exception.CustomException;
+import com.ayno.aynobe.config.util.AfterCommit;
 import com.ayno.aynobe.dto.reaction.ArtifactLikeResponseDTO;
+import com.ayno.aynobe.dto.reaction.LikedArtifactIdsResponseDTO;
 import com.ayno.aynobe.entity.Artifact;
-import com.ayno.aynobe.entity.Reaction;
 import com.ayno.aynobe.entity.User;
 import com.ayno.aynobe.entity.enums.ReactionType;
 import com.ayno.aynobe.entity.enums.TargetType;
+import com.ayno.aynobe.repository.ArtifactJdbcRepository;
 import com.ayno.aynobe.repository.ArtifactRepository;
+import com.ayno.aynobe.repository.ReactionJdbcRepository;
 import com.ayno.aynobe.repository.ReactionRepository;
+import com.ayno.aynobe.service.cache.LikedArtifactCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class ReactionService {
 
     private final ReactionRepository reactionRepository;
     private final ArtifactRepository artifactRepository;
+    private final ReactionJdbcRepository reactionJdbcRepository;
+    private final ArtifactJdbcRepository artifactJdbcRepository;
+    private final LikedArtifactCache likedArtifactCache;
+
+    private static final int MAX_LIKE_LOOKUP_IDS = 100;
 
     @Transactional(readOnly = true)
     public ArtifactLikeResponseDTO getArtifactLike(User actor, Long artifactId) {
@@ -39,67 +52,62 @@ public class ReactionService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
+    public LikedArtifactIdsResponseDTO getLikedArtifactIds(User actor, Collection<Long> artifactIds) {
+        if (artifactIds.size() > MAX_LIKE_LOOKUP_IDS) {
+            throw CustomException.badRequest("한 번에 조회할 수 있는 결과물은 " + MAX_LIKE_LOOKUP_IDS + "개까지입니다.");
+        }
+        return LikedArtifactIdsResponseDTO.builder()
+                .likedArtifactIds(findLikedArtifactIds(actor.getUserId(), artifactIds))
+                .build();
+    }
+
+    /** artifactIds 중 사용자가 좋아요 한 ID (캐시 미스분만 한 번의 쿼리로 조회) */
+    @Transactional(readOnly = true)
+    public Set<Long> findLikedArtifactIds(Long userId, Collection<Long> artifactIds) {
+        if (artifactIds.isEmpty()) return Set.of();
+        return likedArtifactCache.likedAmong(userId, new LinkedHashSet<>(artifactIds), misses ->
+                reactionRepository.findReactedTargetIds(userId, TargetType.ARTIFACT, ReactionType.LIKE, misses));
+    }
+
+    /**
+     * 좋아요: 유니크 키 기반 insert-if-absent → 실제로 들어갔을 때만 +1 하고 갱신값을 바로 받는다.
+     * (동시에 여러 번 눌러도 likeCount == 리액션 행 수)
+     */
     @Transactional
     public ArtifactLikeResponseDTO likeArtifact(User actor, Long artifactId) {
-        Artifact artifact = artifactRepository.findById(artifactId)
-                .orElseThrow(() -> CustomException.notFound("존재하지 않는 결과물입니다."));
-
-        var existed = reactionRepository.findByUser_UserIdAndTargetTypeAndTargetIdAndReactionType(
+        boolean inserted = reactionJdbcRepository.insertIfAbsent(
                 actor.getUserId(), TargetType.ARTIFACT, artifactId, ReactionType.LIKE);
+        if (inserted) AfterCommit.run(() -> likedArtifactCache.evict(actor.getUserId()));
 
-        if (existed.isPresent()) {
-            return ArtifactLikeResponseDTO.builder()
-                    .artifactId(artifactId)
-                    .liked(true)
-                    .likeCount(artifact.getLikeCount())
-                    .build();
-        }
-
-        Reaction r = Reaction.builder()
-                .user(actor)
-                .targetId(artifactId)
-                .targetType(TargetType.ARTIFACT)
-                .reactionType(ReactionType.LIKE)
-                .build();
-        reactionRepository.save(r);
-        artifactRepository.updateLikeCount(artifactId, 1);
-
-        Artifact refreshed = artifactRepository.findById(artifactId)
+        // 결과물이 없으면 notFound → 롤백으로 방금 넣은 리액션도 취소
+        long likeCount = (inserted
+                ? artifactJdbcRepository.addLikeCount(artifactId, 1)
+                : artifactJdbcRepository.findLikeCount(artifactId))
                 .orElseThrow(() -> CustomException.notFound("존재하지 않는 결과물입니다."));
 
         return ArtifactLikeResponseDTO.builder()
                 .artifactId(artifactId)
                 .liked(true)
-                .likeCount(refreshed.getLikeCount())
+                .likeCount(likeCount)
                 .build();
     }
 
     @Transactional
     public ArtifactLikeResponseDTO unlikeArtifact(User actor, Long artifactId) {
-        Artifact artifact = artifactRepository.findById(artifactId)
-                .orElseThrow(() -> CustomException.notFound("존재하지 않는 결과물입니다."));
-
-        var existed = reactionRepository.findByUser_UserIdAndTargetTypeAndTargetIdAndReactionType(
+        boolean deleted = reactionJdbcRepository.delete(
                 actor.getUserId(), TargetType.ARTIFACT, artifactId, ReactionType.LIKE);
+        if (deleted) AfterCommit.run(() -> likedArtifactCache.evict(actor.getUserId()));
 
-        if (existed.isEmpty()) {
-            return ArtifactLikeResponseDTO.builder()
-                    .artifactId(artifactId)
-                    .liked(false)
-                    .likeCount(artifact.getLikeCount())
-                    .build();
-        }
-
-        reactionRepository.deleteByUserAndTargetAndType(actor.getUserId(), TargetType.ARTIFACT, artifactId, ReactionType.LIKE);
-        artifactRepository.updateLikeCount(artifactId, -1);
-
-        Artifact refreshed = artifactRepository.findById(artifactId)
+        long likeCount = (deleted
+                ? artifactJdbcRepository.addLikeCount(artifactId, -1)
+                : artifactJdbcRepository.findLikeCount(artifactId))
                 .orElseThrow(() -> CustomException.notFound("존재하지 않는 결과물입니다."));
 
         return ArtifactLikeResponseDTO.builder()
                 .artifactId(artifactId)
                 .liked(false)
-                .likeCount(Math.max(0, refreshed.getLikeCount()))
+                .likeCount(likeCount)
                 .build();
     }
-}
\ No newline at end of file
+}
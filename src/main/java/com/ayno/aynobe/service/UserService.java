@@ -1,10 +1,10 @@
 package com.ayno.aynobe.service;
 
 import com.ayno.aynobe.config.exception.CustomException;
-import com.ayno.aynobe.config.util.MediaPathGenerator;
+import com.ayno.aynobe.config.security.service.PrincipalCache;
+import com.ayno.aynobe.config.util.AfterCommit;
 import com.ayno.aynobe.dto.common.PageResponseDTO;
 import com.ayno.aynobe.dto.user.*;
-import com.ayno.aynobe.entity.Artifact;
 import com.ayno.aynobe.entity.Interest;
 import com.ayno.aynobe.entity.JobRole;
 import com.ayno.aynobe.entity.User;
@@ -13,9 +13,10 @@ import com.ayno.aynobe.repository.ArtifactRepository;
 import com.ayno.aynobe.repository.InterestRepository;
 import com.ayno.aynobe.repository.JobRoleRepository;
 import com.ayno.aynobe.repository.UserRepository;
+import com.ayno.aynobe.service.cache.ArtifactDetailCache;
+import com.ayno.aynobe.service.counter.ViewCountBuffer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -31,11 +32,10 @@ public class UserService {
     private final JobRoleRepository jobRoleRepository;
     private final InterestRepository interestRepository;
     private final ArtifactRepository artifactRepository;
-
-    private final MediaPathGenerator pathGen;
-
-    @Value("${media.cloudfront.domain}")
-    private String cdnDomain;
+    private final ViewCountBuffer viewCountBuffer;
+    private final ArtifactDetailCache artifactDetailCache;
+    private final ProfileImageService profileImageService;
+    private final PrincipalCache principalCache;
 
     @Transactional
     public OnboardingResponseDTO getMyOnboarding(Long userId) {
@@ -113,19 +113,14 @@ public class UserService {
                 throw CustomException.conflict("이미 사용 중인 닉네임입니다.");
             }
             user.changeNickname(request.getNickname());
+            AfterCommit.run(() -> artifactDetailCache.evictByUser(userId)); // 상세에 닉네임 포함
         }
 
         if (request.getProfileImageBaseKey() != null) {
 
-            // 1. baseKey: "user/1/profile/abc/original.jpg"
-            // 2. publicPath: "prod/public/user/1/profile/abc/original.jpg" (pathGen 로직)
-            String publicPath = pathGen.toPublicKey(request.getProfileImageBaseKey());
-
-            // 3. Full URL: "https://cdn.ayno.co.kr/prod/public/user/1/profile/abc/original.jpg"
-            String fullUrl = cdnDomain + "/" + publicPath;
-
-            // 4. DB에는 Full URL 저장 (나중에 조회할 때 편하려고)
-            user.changeProfileImageUrl(fullUrl);
+            // 우선 원본 Full URL 을 저장하고, 아바타가 만들어지면 워커가 아바타 URL 로 바꾼다
+            profileImageService.changeProfileImage(user, request.getProfileImageBaseKey());
+            AfterCommit.run(() -> artifactDetailCache.evictByUser(userId)); // 상세에 프로필 이미지 포함
         }
 
         if (request.getGender() != null) user.changeGender(request.getGender());
@@ -174,31 +169,24 @@ public class UserService {
             user.updateInterests(idsToRemove, interestsToAdd);
         }
 
+        // 인증 principal 이 감싼 User 도 최신으로
+        AfterCommit.run(() -> principalCache.evictUser(user.getUsername()));
+
         return ProfileResponseDTO.from(user);
     }
 
     @Transactional
     public PageResponseDTO<MyArtifactListItemResponseDTO> getMyArtifact(Long userId, VisibilityType visibility, Pageable pageable) {
-        Page<Artifact> artifactPage = artifactRepository.findAllMyArtifacts(
+        Page<MyArtifactListItemResponseDTO> artifactPage = artifactRepository.findAllMyArtifacts(
                 userId,
                 visibility,
                 pageable
         );
 
-        List<MyArtifactListItemResponseDTO> content = artifactPage.getContent().stream()
-                .map(artifact -> MyArtifactListItemResponseDTO.builder()
-                        .artifactId(artifact.getArtifactId())
-                        .artifactTitle(artifact.getArtifactTitle())
-                        .aiUsagePercent(artifact.getAiUsagePercent())
-                        .viewCount(artifact.getViewCount())
-                        .likeCount(artifact.getLikeCount())
-                        .visibility(artifact.getVisibility())
-                        .slug(artifact.getSlug())
-                        .build())
-                .toList();
+        artifactPage.getContent().forEach(this::applyPendingViews);
 
         return PageResponseDTO.<MyArtifactListItemResponseDTO>builder()
-                .content(content)
+                .content(artifactPage.getContent())
                 .page(artifactPage.getNumber())
                 .size(artifactPage.getSize())
                 .totalElements(artifactPage.getTotalElements())
@@ -209,26 +197,15 @@ public class UserService {
 
     @Transactional
     public PageResponseDTO<MyArtifactListItemResponseDTO> getLikedArtifacts(Long userId, Pageable pageable) {
-        Page<Artifact> artifactPage = artifactRepository.findLikedArtifacts(
+        Page<MyArtifactListItemResponseDTO> artifactPage = artifactRepository.findLikedArtifacts(
                 userId,
                 pageable
         );
 
-        List<MyArtifactListItemResponseDTO> content = artifactPage.getContent().stream()
-                .map(artifact -> MyArtifactListItemResponseDTO.builder()
-                        .artifactId(artifact.getArtifactId())
-                        .artifactTitle(artifact.getArtifactTitle())
-                        .aiUsagePercent(artifact.getAiUsagePercent())
-                        .viewCount(artifact.getViewCount())
-                        .likeCount(artifact.getLikeCount())
-                        .visibility(artifact.getVisibility())
-                        .slug(artifact.getSlug())
-                        .build())
-                .toList();
-
-        // 3. 반환
+        artifactPage.getContent().forEach(this::applyPendingViews);
+
         return PageResponseDTO.<MyArtifactListItemResponseDTO>builder()
-                .content(content)
+                .content(artifactPage.getContent())
                 .page(artifactPage.getNumber())
                 .size(artifactPage.getSize())
                 .totalElements(artifactPage.getTotalElements())
@@ -237,4 +214,8 @@ public class UserService {
                 .build();
     }
 
+    // 아직 DB 에 반영되지 않은 조회수를 더해서 보여준다
+    private void applyPendingViews(MyArtifactListItemResponseDTO item) {
+        item.setViewCount(item.getViewCount() + viewCountBuffer.pendingOf(item.getArtifactId()));
+    }
 }
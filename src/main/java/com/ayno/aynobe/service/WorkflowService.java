@@ -1,14 +1,16 @@
 package com.ayno.aynobe.service;
 
 import com.ayno.aynobe.config.exception.CustomException;
+import com.ayno.aynobe.config.util.ETags;
 import com.ayno.aynobe.dto.workflow.*;
 import com.ayno.aynobe.entity.*;
+import com.ayno.aynobe.entity.enums.MediaJobType;
 import com.ayno.aynobe.entity.enums.TargetType;
 import com.ayno.aynobe.repository.ReactionRepository;
 import com.ayno.aynobe.repository.StepSectionRepository;
 import com.ayno.aynobe.repository.ToolRepository;
 import com.ayno.aynobe.repository.WorkflowRepository;
-import com.ayno.aynobe.service.s3.S3Service;
+import com.ayno.aynobe.service.job.MediaJobService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,7 +26,7 @@ public class WorkflowService {
     private final ReactionRepository reactionRepository;
     private final StepSectionRepository stepSectionRepository;
     private final ToolRepository toolRepository;
-    private final S3Service s3Service;
+    private final MediaJobService mediaJobService;
 
 
     @Transactional(readOnly = true)
@@ -40,6 +42,19 @@ public class WorkflowService {
         return wf.toDetailDTO();      // ← 도메인 메서드
     }
 
+    /** 상세 ETag: 스텝/섹션을 읽지 않고 버전 행만 조회 (권한 검사는 상세와 동일) */
+    @Transactional(readOnly = true)
+    public String getDetailETag(User actorOrNull, Long workflowId) {
+        WorkflowVersionDTO v = workflowRepository.findVersionById(workflowId)
+                .orElseThrow(() -> CustomException.notFound("존재하지 않는 워크플로우입니다."));
+
+        boolean isOwner = actorOrNull != null && v.ownerId().equals(actorOrNull.getUserId());
+        if (!isOwner) {
+            throw CustomException.forbidden("열람 권한이 없습니다.");
+        }
+        return ETags.strong("w", workflowId, v.version(), v.updatedAt());
+    }
+
     @Transactional
     public WorkflowCreateResponseDTO create(User owner, WorkflowCreateRequestDTO requestDto) {
 
@@ -68,7 +83,7 @@ public class WorkflowService {
     @Transactional
     public WorkflowUpdateResponseDTO update(User actor, Long workflowId, WorkflowUpdateRequestDTO dto) {
         // 0) 로드(+user, steps, tool). sections는 SUBSELECT로 로드
-        Workflow wf = workflowRepository.findWithAllByWorkflowId(workflowId)
+        Workflow wf = workflowRepository.findForUpdateByWorkflowId(workflowId)
                 .orElseThrow(() -> CustomException.notFound("존재하지 않는 워크플로우입니다."));
 
         // 1) 권한: 오너만
@@ -176,14 +191,10 @@ public class WorkflowService {
             throw CustomException.forbidden("본인이 작성한 워크플로우만 삭제할 수 있습니다.");
         }
 
-        // S3 파일 선(先)삭제
+        // S3 파일 삭제는 같은 트랜잭션에서 작업 큐에 적재 (커밋 후 워커가 삭제/재시도)
         // (N+1 방지를 위해 baseKey 목록을 한번에 조회)
         List<String> sectionBaseKeys = stepSectionRepository.findAllBaseKeysByWorkflowId(workflowId);
-        for (String baseKey : sectionBaseKeys) {
-            if (baseKey != null && !baseKey.isBlank()) {
-                s3Service.deleteS3MediaSet(baseKey);
-            }
-        }
+        mediaJobService.enqueueAll(MediaJobType.DELETE_MEDIA_SET, sectionBaseKeys);
 
         // 루트 삭제 (cascade로 step/section 함께 제거)
         workflowRepository.delete(workflow);
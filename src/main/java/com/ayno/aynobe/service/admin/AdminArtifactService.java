@@ -1,11 +1,13 @@
 package com.ayno.aynobe.service.admin;
 
 import com.ayno.aynobe.config.exception.CustomException;
+import com.ayno.aynobe.config.util.AfterCommit;
 import com.ayno.aynobe.dto.admin.AdminArtifactResponseDTO;
 import com.ayno.aynobe.dto.common.PageResponseDTO;
 import com.ayno.aynobe.entity.Artifact;
 import com.ayno.aynobe.entity.ArtifactMedia;
 import com.ayno.aynobe.entity.Workflow;
+import com.ayno.aynobe.entity.enums.MediaJobType;
 import com.ayno.aynobe.entity.enums.ReportTargetType;
 import com.ayno.aynobe.entity.enums.TargetType;
 import com.ayno.aynobe.entity.enums.VisibilityType;
@@ -13,7 +15,9 @@ import com.ayno.aynobe.repository.ArtifactRepository;
 import com.ayno.aynobe.repository.ReactionRepository;
 import com.ayno.aynobe.repository.ReportRepository;
 import com.ayno.aynobe.repository.StepSectionRepository;
-import com.ayno.aynobe.service.s3.S3Service;
+import com.ayno.aynobe.service.cache.ArtifactDetailCache;
+import com.ayno.aynobe.service.job.MediaJobService;
+import com.ayno.aynobe.service.search.ArtifactSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,7 +33,9 @@ public class AdminArtifactService {
     private final ReportRepository reportRepository;
     private final ReactionRepository reactionRepository;
     private final StepSectionRepository stepSectionRepository;
-    private final S3Service s3Service;
+    private final MediaJobService mediaJobService;
+    private final ArtifactSearchIndex artifactSearchIndex;
+    private final ArtifactDetailCache artifactDetailCache;
 
     @Transactional(readOnly = true)
     public PageResponseDTO<AdminArtifactResponseDTO> getArtifacts(
@@ -43,14 +49,10 @@ public class AdminArtifactService {
             artifactId = Long.parseLong(keyword);
         }
 
-        Page<Artifact> artifactPage = artifactRepository.searchArtifactsForAdmin(status, artifactId, keyword, pageable);
-
-        List<AdminArtifactResponseDTO> content = artifactPage.getContent().stream()
-                .map(AdminArtifactResponseDTO::from)
-                .toList();
+        Page<AdminArtifactResponseDTO> artifactPage = artifactRepository.searchArtifactsForAdmin(status, artifactId, keyword, pageable);
 
         return PageResponseDTO.<AdminArtifactResponseDTO>builder()
-                .content(content)
+                .content(artifactPage.getContent())
                 .page(artifactPage.getNumber())
                 .size(artifactPage.getSize())
                 .totalElements(artifactPage.getTotalElements())
@@ -64,7 +66,7 @@ public class AdminArtifactService {
         Artifact artifact = artifactRepository.findById(artifactId)
                 .orElseThrow(() -> CustomException.notFound("Artifact not found"));
 
-        // S3 물리적 파일 삭제
+        // S3 물리적 파일 삭제 → 같은 트랜잭션에서 작업 큐에 적재 (커밋 후 워커가 삭제/재시도)
         Workflow workflow = artifact.getWorkflow();
         if (workflow != null) {
 
@@ -72,23 +74,18 @@ public class AdminArtifactService {
 
             // 워크플로우 ID로 모든 섹션의 baseKey를 한번에 조회 (N+1 방지)
             List<String> sectionBaseKeys = stepSectionRepository.findAllBaseKeysByWorkflowId(workflowId);
-
-            for (String baseKey : sectionBaseKeys) {
-                if (baseKey != null && !baseKey.isBlank()) {
-                    s3Service.deleteS3MediaSet(baseKey);
-                }
-            }
+            mediaJobService.enqueueAll(MediaJobType.DELETE_MEDIA_SET, sectionBaseKeys);
         }
         // 아티팩트 본문 미디어 삭제
-        for (ArtifactMedia media : artifact.getMedias()) {
-            s3Service.deleteS3MediaSet(media.getBaseKey());
-        }
-
+        mediaJobService.enqueueAll(MediaJobType.DELETE_MEDIA_SET,
+                artifact.getMedias().stream().map(ArtifactMedia::getBaseKey).toList());
 
         reportRepository.deleteByTargetIdAndTargetType(artifactId, ReportTargetType.ARTIFACT);
 
         reactionRepository.deleteByTargetIdAndTargetType(artifactId, TargetType.ARTIFACT);
 
         artifactRepository.delete(artifact);
+        artifactSearchIndex.removeAfterCommit(artifactId);
+        AfterCommit.run(() -> artifactDetailCache.evict(artifactId));
     }
 }
@@ -3,6 +3,7 @@ package com.ayno.aynobe.service.admin;
 import com.ayno.aynobe.config.exception.CustomException;
 import com.ayno.aynobe.config.security.CustomAdminDetails;
 import com.ayno.aynobe.config.security.service.JwtService;
+import com.ayno.aynobe.config.security.service.RefreshTokenService;
 import com.ayno.aynobe.dto.admin.AdminProfileResponseDTO;
 import com.ayno.aynobe.dto.auth.*;
 import com.ayno.aynobe.entity.Admin;
@@ -20,12 +21,15 @@ public class AdminAuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final AdminRepository adminRepository;
+    private final RefreshTokenService refreshTokenService;
 
     public AdminAuthService(@Qualifier("adminAuthManager") AuthenticationManager authenticationManager,
-                            JwtService jwtService,  AdminRepository adminRepository) {
+                            JwtService jwtService,  AdminRepository adminRepository,
+                            RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
         this.adminRepository = adminRepository;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @Transactional
@@ -43,7 +47,7 @@ public class AdminAuthService {
         }
 
         String access  = jwtService.generateAccessToken(principal);
-        String refresh = jwtService.generateRefreshToken(principal);
+        String refresh = refreshTokenService.issue(principal, true);
 
         return LoginTokensDTO.builder()
                 .accessToken(access)
@@ -1,11 +1,16 @@
 package com.ayno.aynobe.service.admin;
 
 import com.ayno.aynobe.config.exception.CustomException;
+import com.ayno.aynobe.config.security.service.PrincipalCache;
+import com.ayno.aynobe.config.security.service.PrincipalRevocationList;
+import com.ayno.aynobe.config.security.service.RefreshTokenService;
+import com.ayno.aynobe.config.util.AfterCommit;
 import com.ayno.aynobe.dto.admin.AdminUserResponseDTO;
 import com.ayno.aynobe.dto.common.PageResponseDTO;
 import com.ayno.aynobe.entity.User;
 import com.ayno.aynobe.entity.enums.UserStatus;
 import com.ayno.aynobe.repository.UserRepository; // JpaRepository + Custom
+import com.ayno.aynobe.service.ProfileImageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +28,10 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class AdminUserService {
     private final UserRepository userRepository;
+    private final ProfileImageService profileImageService;
+    private final PrincipalCache principalCache;
+    private final PrincipalRevocationList revocationList;
+    private final RefreshTokenService refreshTokenService;
 
     public PageResponseDTO<AdminUserResponseDTO> getUsers(
             UserStatus status,
@@ -67,6 +76,20 @@ public class AdminUserService {
         if (user.getStatus() == UserStatus.WITHDRAWN) {
             throw CustomException.badRequest("탈퇴한 회원의 상태는 변경할 수 없습니다.");
         }
-        user.changeStatus(newStatus);
+        user.changeStatus(newStatus); // principalVersion 도 올라감
+        if (newStatus != UserStatus.ACTIVE) {
+            refreshTokenService.revokeAll(user.getUsername(), false); // 로그인 유지 끊기
+        }
+        // 차단/해제가 다음 요청부터 적용되도록 (stateless 토큰은 이전 버전이 폐기 목록에 오른다)
+        AfterCommit.run(() -> {
+            principalCache.evictUser(user.getUsername());
+            revocationList.refresh();
+        });
+    }
+
+    /** 원본 프로필 이미지를 쓰는 기존 유저들의 아바타 생성 작업 적재 */
+    @Transactional
+    public int migrateProfileImages() {
+        return profileImageService.enqueueAvatarMigration();
     }
 }
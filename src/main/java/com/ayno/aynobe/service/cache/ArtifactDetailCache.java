@@ -0,0 +1,129 @@
+package com.ayno.aynobe.service.cache;
+
+import com.ayno.aynobe.dto.artifact.ArtifactDetailResponseDTO;
+import com.ayno.aynobe.dto.artifact.ArtifactVersionDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 결과물 상세 응답 캐시.
+ *
+ * - 직렬화된 JSON(byte[])으로 보관 → 꺼낼 때마다 새 객체라 카운터 덮어쓰기가 캐시를 오염시키지 않는다
+ * - 개수(LRU) + TTL 상한
+ * - 항목마다 만들 때의 버전을 같이 두고, 요청 시점 버전과 다르면 버리고 다시 읽는다
+ *   (무효화는 수정한 인스턴스에만 되므로 다른 인스턴스의 캐시가 새 ETag 로 옛 본문을 내보내지 않게)
+ * - 수정/삭제/발행/비공개/작성자 프로필 변경 커밋 후 무효화
+ * - 조회 도중 그 결과물(또는 작성자)이 무효화됐으면 그 조회 결과는 넣지 않는다 ({@link #currentGeneration()} 참고)
+ *   무효화 시각은 키별로 남겨서, 다른 결과물의 무효화가 진행 중인 조회를 버리게 하지 않는다
+ */
+@Slf4j
+@Component
+public class ArtifactDetailCache {
+
+    private record Entry(byte[] json, Long userId, ArtifactVersionDTO version, long expiresAt) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final int maxStamps;
+    private final Map<Long, Entry> entries;
+    private final AtomicLong clock = new AtomicLong();
+    // 키별 마지막 무효화 시점 (clock 값). entries 락으로 보호
+    private final Map<Long, Long> artifactStamps = new HashMap<>();
+    private final Map<Long, Long> userStamps = new HashMap<>();
+    private long purgedUpTo; // 이 시점 이전의 기록은 지웠다 → 그보다 먼저 시작한 조회는 넣지 않는다
+
+    public ArtifactDetailCache(
+            ObjectMapper objectMapper,
+            @Value("${app.cache.artifact-detail.max-entries:2000}") int maxEntries,
+            @Value("${app.cache.artifact-detail.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxStamps = maxEntries * 4;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /** @param current 요청 시점의 버전 (ETag 계산에 쓴 값) */
+    public Optional<ArtifactDetailResponseDTO> get(Long artifactId, ArtifactVersionDTO current) {
+        Entry e;
+        synchronized (entries) {
+            e = entries.get(artifactId);
+            if (e == null) return Optional.empty();
+            if (e.expiresAt() < System.currentTimeMillis() || !e.version().sameBodyAs(current)) {
+                entries.remove(artifactId);
+                return Optional.empty();
+            }
+        }
+        try {
+            return Optional.of(objectMapper.readValue(e.json(), ArtifactDetailResponseDTO.class));
+        } catch (IOException ex) {
+            log.warn("[CACHE] 상세 캐시 역직렬화 실패 artifactId={}", artifactId, ex);
+            evict(artifactId);
+            return Optional.empty();
+        }
+    }
+
+    /** DB 조회 전에 받아두고 {@link #put} 에 넘긴다. */
+    public long currentGeneration() {
+        return clock.get();
+    }
+
+    public void put(Long artifactId, ArtifactDetailResponseDTO dto, ArtifactVersionDTO version, long loadedAtGeneration) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(dto);
+        } catch (IOException ex) {
+            log.warn("[CACHE] 상세 캐시 직렬화 실패 artifactId={}", artifactId, ex);
+            return;
+        }
+        synchronized (entries) {
+            // 조회 중 이 결과물/작성자가 무효화됨 → 오래된 값일 수 있음
+            if (loadedAtGeneration < purgedUpTo
+                    || artifactStamps.getOrDefault(artifactId, 0L) > loadedAtGeneration
+                    || userStamps.getOrDefault(dto.getUserId(), 0L) > loadedAtGeneration) {
+                return;
+            }
+            entries.put(artifactId, new Entry(json, dto.getUserId(), version, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public void evict(Long artifactId) {
+        synchronized (entries) {
+            artifactStamps.put(artifactId, clock.incrementAndGet());
+            entries.remove(artifactId);
+            trimStamps();
+        }
+    }
+
+    /** 작성자 닉네임/프로필 이미지가 상세에 포함되므로 해당 작성자의 항목을 모두 지운다. */
+    public void evictByUser(Long userId) {
+        synchronized (entries) {
+            userStamps.put(userId, clock.incrementAndGet());
+            entries.values().removeIf(e -> e.userId().equals(userId));
+            trimStamps();
+        }
+    }
+
+    // 무효화 기록은 진행 중인 조회에만 의미가 있다 → 많이 쌓이면 비우고, 그 전에 시작한 조회만 버린다
+    private void trimStamps() {
+        if (artifactStamps.size() + userStamps.size() <= maxStamps) return;
+        artifactStamps.clear();
+        userStamps.clear();
+        purgedUpTo = clock.get();
+    }
+}
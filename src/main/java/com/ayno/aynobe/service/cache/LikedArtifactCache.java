@@ -0,0 +1,108 @@
+package com.ayno.aynobe.service.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 사용자별 "이 결과물에 좋아요 했는가" 캐시. (피드 카드의 하트 표시용)
+ *
+ * - 사용자 수, 사용자당 결과물 수 모두 LRU 로 상한을 둔다
+ * - 좋아요/취소 커밋 후 해당 사용자 항목을 새 항목으로 교체(무효화)
+ * - 무효화는 이 인스턴스에만 되므로 사용자 항목에 TTL 을 둔다 (다른 인스턴스에서 누른 하트는 TTL 안에 반영)
+ * - 조회 도중 무효화되면 그 조회 결과는 캐시에 넣지 않는다 (오래된 값이 다시 들어가는 것 방지)
+ */
+@Component
+public class LikedArtifactCache {
+
+    private final int maxIdsPerUser;
+    private final long ttlMillis;
+    private final Map<Long, UserEntry> users;
+
+    public LikedArtifactCache(
+            @Value("${app.cache.liked.max-users:10000}") int maxUsers,
+            @Value("${app.cache.liked.max-ids-per-user:500}") int maxIdsPerUser,
+            @Value("${app.cache.liked.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this.maxIdsPerUser = maxIdsPerUser;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserEntry> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * artifactIds 중 userId 가 좋아요 한 ID 집합. 캐시에 없는 ID 만 loader 로 한 번에 조회한다.
+     *
+     * @param loader 미스 난 ID 목록 → 그중 좋아요 한 ID
+     */
+    public Set<Long> likedAmong(Long userId, Collection<Long> artifactIds, Function<Collection<Long>, Collection<Long>> loader) {
+        UserEntry entry = entryOf(userId);
+
+        Set<Long> liked = new HashSet<>();
+        List<Long> misses = new ArrayList<>();
+        synchronized (entry) {
+            for (Long id : artifactIds) {
+                Boolean cached = entry.likes.get(id);
+                if (cached == null) misses.add(id);
+                else if (cached) liked.add(id);
+            }
+        }
+        if (misses.isEmpty()) return liked;
+
+        Set<Long> loaded = new HashSet<>(loader.apply(misses));
+        liked.addAll(loaded);
+
+        synchronized (users) {
+            if (users.get(userId) != entry) return liked; // 조회 중 무효화됨
+        }
+        synchronized (entry) {
+            for (Long id : misses) entry.likes.put(id, loaded.contains(id));
+        }
+        return liked;
+    }
+
+    public void evict(Long userId) {
+        synchronized (users) {
+            if (users.containsKey(userId)) {
+                users.put(userId, newEntry());
+            }
+        }
+    }
+
+    private UserEntry entryOf(Long userId) {
+        long now = System.currentTimeMillis();
+        synchronized (users) {
+            UserEntry entry = users.get(userId);
+            if (entry == null || entry.expiresAt < now) { // 만료 → 새 항목 (진행 중 조회 결과도 버려진다)
+                entry = newEntry();
+                users.put(userId, entry);
+            }
+            return entry;
+        }
+    }
+
+    private UserEntry newEntry() {
+        return new UserEntry(maxIdsPerUser, System.currentTimeMillis() + ttlMillis);
+    }
+
+    private static final class UserEntry {
+        final Map<Long, Boolean> likes;
+        final long expiresAt;
+
+        UserEntry(int maxIds, long expiresAt) {
+            this.expiresAt = expiresAt;
+            this.likes = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                    return size() > maxIds;
+                }
+            };
+        }
+    }
+}
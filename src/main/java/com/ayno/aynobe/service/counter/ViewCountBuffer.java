@@ -0,0 +1,104 @@
+package com.ayno.aynobe.service.counter;
+
+import com.ayno.aynobe.repository.ArtifactJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 조회수 write-behind 버퍼.
+ *
+ * - 조회 1건마다 artifact 행을 UPDATE 하면 인기 결과물 한 행의 락에 요청이 줄을 선다
+ * - artifactId 별 LongAdder 로 메모리에서 누적하고, 주기적으로(및 종료 시) 한 번의 배치 UPDATE 로 반영
+ * - 목록/상세 응답은 {@link #pendingOf(Long)} 를 더해 아직 반영 안 된 조회수까지 보여준다
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    private final ArtifactJdbcRepository artifactJdbcRepository;
+    private final Timer flushTimer;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // flush 중(DB 반영 전)인 증가분 → 그 사이 조회에서도 빠지지 않게
+    private final ConcurrentHashMap<Long, Long> inFlight = new ConcurrentHashMap<>();
+    // 직전 flush 에서 0 이라 맵에서 뺀 adder (늦게 들어온 increment 를 다음 flush 에서 회수)
+    private List<Map.Entry<Long, LongAdder>> retired = new ArrayList<>();
+
+    public ViewCountBuffer(ArtifactJdbcRepository artifactJdbcRepository, MeterRegistry meterRegistry) {
+        this.artifactJdbcRepository = artifactJdbcRepository;
+        this.flushTimer = Timer.builder("artifact.viewcount.flush")
+                .description("조회수 버퍼 DB 반영 소요 시간")
+                .register(meterRegistry);
+        Gauge.builder("artifact.viewcount.buffer.size", pending, Map::size)
+                .description("DB 반영 대기 중인 결과물 수")
+                .register(meterRegistry);
+        Gauge.builder("artifact.viewcount.buffer.pending", this, ViewCountBuffer::pendingTotal)
+                .description("DB 반영 대기 중인 조회수 합계")
+                .register(meterRegistry);
+    }
+
+    public void increment(Long artifactId) {
+        pending.computeIfAbsent(artifactId, id -> new LongAdder()).increment();
+    }
+
+    /** 아직 DB 에 반영되지 않은 조회수 */
+    public long pendingOf(Long artifactId) {
+        LongAdder adder = pending.get(artifactId);
+        long buffered = (adder != null) ? adder.sum() : 0L;
+        return buffered + inFlight.getOrDefault(artifactId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${app.viewcount.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+
+        for (Map.Entry<Long, LongAdder> e : retired) {
+            long late = e.getValue().sumThenReset();
+            if (late > 0) deltas.merge(e.getKey(), late, Long::sum);
+        }
+        retired = new ArrayList<>();
+
+        for (Map.Entry<Long, LongAdder> e : pending.entrySet()) {
+            long delta = e.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.merge(e.getKey(), delta, Long::sum);
+            } else if (pending.remove(e.getKey(), e.getValue())) {
+                // 한 주기 동안 조회가 없던 항목은 맵에서 정리
+                retired.add(e);
+            }
+        }
+        if (deltas.isEmpty()) return;
+
+        inFlight.putAll(deltas);
+        try {
+            flushTimer.record(() -> artifactJdbcRepository.addViewCounts(deltas));
+        } catch (Exception ex) {
+            // 반영 실패분은 버퍼로 되돌려 다음 주기에 재시도
+            log.warn("[VIEWCOUNT] 조회수 반영 실패 - 다음 주기에 재시도: {}건", deltas.size(), ex);
+            deltas.forEach((id, delta) -> pending.computeIfAbsent(id, k -> new LongAdder()).add(delta));
+        } finally {
+            deltas.keySet().forEach(inFlight::remove);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private double pendingTotal() {
+        return pending.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+}
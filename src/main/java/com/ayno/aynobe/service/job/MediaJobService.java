@@ -0,0 +1,60 @@
+package com.ayno.aynobe.service.job;
+
+import com.ayno.aynobe.entity.MediaJob;
+import com.ayno.aynobe.entity.enums.MediaJobStatus;
+import com.ayno.aynobe.entity.enums.MediaJobType;
+import com.ayno.aynobe.repository.MediaJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * media_job 적재 창구 (트랜잭셔널 아웃박스).
+ * 호출자의 트랜잭션 안에서만 적재한다 → 엔티티 변경이 롤백되면 작업도 사라지고, 커밋되면 워커가 반드시 실행한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MediaJobService {
+
+    private final MediaJobRepository mediaJobRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(MediaJobType type, String baseKey) {
+        if (baseKey == null || baseKey.isBlank()) return;
+        mediaJobRepository.save(MediaJob.of(type, baseKey));
+    }
+
+    /** null/빈 키는 건너뛰고, 같은 키는 한 번만 넣는다. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(MediaJobType type, Collection<String> baseKeys) {
+        List<MediaJob> jobs = new LinkedHashSet<>(baseKeys).stream()
+                .filter(k -> k != null && !k.isBlank())
+                .map(k -> MediaJob.of(type, k))
+                .toList();
+        if (!jobs.isEmpty()) mediaJobRepository.saveAll(jobs);
+    }
+
+    /**
+     * 파생 생성 요청. 같은 baseKey 의 작업이 이미 있으면 그대로 돌려주고, DEAD 면 다시 시도한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public MediaJob requestVariants(String baseKey) {
+        MediaJob job = findLatest(MediaJobType.GENERATE_VARIANTS, baseKey)
+                .orElseGet(() -> mediaJobRepository.save(MediaJob.of(MediaJobType.GENERATE_VARIANTS, baseKey)));
+        if (job.getStatus() == MediaJobStatus.DEAD) {
+            job.resetForRetry();
+        }
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<MediaJob> findLatest(MediaJobType type, String baseKey) {
+        return mediaJobRepository.findFirstByTypeAndBaseKeyOrderByJobIdDesc(type, baseKey);
+    }
+}
@@ -0,0 +1,265 @@
+package com.ayno.aynobe.service.job;
+
+import com.ayno.aynobe.entity.MediaJob;
+import com.ayno.aynobe.entity.enums.MediaJobStatus;
+import com.ayno.aynobe.entity.enums.MediaJobType;
+import com.ayno.aynobe.repository.ArtifactMediaRepository;
+import com.ayno.aynobe.repository.MediaJobJdbcRepository;
+import com.ayno.aynobe.repository.MediaJobJdbcRepository.ClaimedJob;
+import com.ayno.aynobe.repository.MediaJobRepository;
+import com.ayno.aynobe.service.ProfileImageService;
+import com.ayno.aynobe.service.s3.MediaVariantService;
+import com.ayno.aynobe.service.s3.S3Service;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * media_job 워커.
+ *
+ * - 주기적으로 실행 시각이 된 PENDING 작업을 빈 슬롯 수만큼 SKIP LOCKED 로 선점한다 (여러 인스턴스가 떠도 중복 실행 없음)
+ * - DELETE_MEDIA_SET 은 최대 deleteBatchSize 건을 묶어 슬롯 하나에서 일괄 삭제한다
+ * - 실패하면 지수 백오프(+지터)로 다시 PENDING, maxAttempts 를 넘으면 DEAD
+ * - RUNNING 인 채로 오래된 작업(인스턴스 종료 등)은 다시 PENDING 으로 회수
+ * - 지표: media.job.processed{type,outcome}, media.job.duration{type}, media.job.lag.seconds, media.job.pending/dead
+ */
+@Slf4j
+@Component
+public class MediaJobWorker {
+
+    // DELETE_MEDIA_SET 은 묶어서 처리하므로 개별 실행 대상에서 뺀다
+    private static final List<MediaJobType> SINGLE_TYPES = Arrays.stream(MediaJobType.values())
+            .filter(t -> t != MediaJobType.DELETE_MEDIA_SET)
+            .toList();
+
+    private final MediaJobRepository mediaJobRepository;
+    private final MediaJobJdbcRepository mediaJobJdbcRepository;
+    private final ArtifactMediaRepository artifactMediaRepository;
+    private final MediaVariantService mediaVariantService;
+    private final S3Service s3Service;
+    private final ProfileImageService profileImageService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+
+    private final Semaphore slots;
+    private final int deleteBatchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final long staleAfterMs;
+
+    // 스크레이프 때 DB 를 치지 않도록 주기적으로 갱신해 둔 값
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong deadCount = new AtomicLong();
+
+    public MediaJobWorker(
+            MediaJobRepository mediaJobRepository,
+            MediaJobJdbcRepository mediaJobJdbcRepository,
+            ArtifactMediaRepository artifactMediaRepository,
+            MediaVariantService mediaVariantService,
+            S3Service s3Service,
+            ProfileImageService profileImageService,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("mediaJobExecutor") Executor executor,
+            MeterRegistry meterRegistry,
+            @Value("${app.media-job.concurrency:4}") int concurrency,
+            @Value("${app.media-job.delete-batch-size:200}") int deleteBatchSize,
+            @Value("${app.media-job.max-attempts:8}") int maxAttempts,
+            @Value("${app.media-job.backoff-base-ms:5000}") long backoffBaseMs,
+            @Value("${app.media-job.backoff-max-ms:3600000}") long backoffMaxMs,
+            @Value("${app.media-job.stale-after-ms:600000}") long staleAfterMs
+    ) {
+        this.mediaJobRepository = mediaJobRepository;
+        this.mediaJobJdbcRepository = mediaJobJdbcRepository;
+        this.artifactMediaRepository = artifactMediaRepository;
+        this.mediaVariantService = mediaVariantService;
+        this.s3Service = s3Service;
+        this.profileImageService = profileImageService;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.slots = new Semaphore(concurrency);
+        this.deleteBatchSize = deleteBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.staleAfterMs = staleAfterMs;
+
+        Gauge.builder("media.job.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("실행 시각이 지났는데 아직 대기 중인 가장 오래된 작업의 지연")
+                .register(meterRegistry);
+        Gauge.builder("media.job.pending", pendingCount, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("media.job.dead", deadCount, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("media.job.running", slots, s -> concurrency - s.availablePermits()).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.media-job.poll-interval-ms:2000}")
+    public void poll() {
+        if (slots.availablePermits() == 0) return;
+        LocalDateTime now = LocalDateTime.now();
+
+        // 삭제 작업은 여러 건을 묶어 슬롯 하나에서 일괄 처리 (DeleteObjects 요청 수를 줄인다)
+        List<ClaimedJob> deletes = transactionTemplate.execute(status ->
+                mediaJobJdbcRepository.claimDue(now, deleteBatchSize, List.of(MediaJobType.DELETE_MEDIA_SET)));
+        if (deletes != null && !deletes.isEmpty()) {
+            submit(() -> runDeleteBatch(deletes), deletes);
+        }
+
+        int free = slots.availablePermits();
+        List<ClaimedJob> singles = transactionTemplate.execute(status ->
+                mediaJobJdbcRepository.claimDue(now, free, SINGLE_TYPES));
+        if (singles == null) return;
+        for (ClaimedJob job : singles) {
+            submit(() -> run(job), List.of(job));
+        }
+    }
+
+    private void submit(Runnable task, List<ClaimedJob> jobs) {
+        slots.acquireUninterruptibly(); // poll 은 스케줄러 스레드 하나만 돌아서 선점한 만큼은 바로 얻는다
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중 → RUNNING 으로 남은 작업은 stale 회수로 다시 실행된다
+            slots.release();
+            log.warn("[MEDIA-JOB] 실행 거절 jobIds={}", jobs.stream().map(ClaimedJob::jobId).toList());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.media-job.reaper-interval-ms:60000}")
+    public void releaseStale() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer released = transactionTemplate.execute(status ->
+                mediaJobRepository.releaseStale(now.minus(Duration.ofMillis(staleAfterMs)), now));
+        if (released != null && released > 0) {
+            log.warn("[MEDIA-JOB] 오래된 RUNNING 작업 {}건 회수", released);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.media-job.metrics-interval-ms:15000}")
+    public void sampleBacklog() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldestDue = mediaJobJdbcRepository.findOldestDueAt(now);
+        lagSeconds.set(oldestDue == null ? 0 : Duration.between(oldestDue, now).toSeconds());
+        pendingCount.set(mediaJobRepository.countByStatus(MediaJobStatus.PENDING));
+        deadCount.set(mediaJobRepository.countByStatus(MediaJobStatus.DEAD));
+    }
+
+    private void run(ClaimedJob job) {
+        long started = System.nanoTime();
+        try {
+            handle(job.type(), job.baseKey());
+            succeed(job);
+        } catch (Exception e) {
+            fail(job, String.valueOf(e.getMessage()), e);
+        } finally {
+            recordDuration(job.type(), started);
+        }
+    }
+
+    /** 삭제 작업 묶음을 한 번의 일괄 삭제로 처리하고 baseKey 별 결과로 각 작업을 마무리한다. */
+    private void runDeleteBatch(List<ClaimedJob> jobs) {
+        long started = System.nanoTime();
+        try {
+            S3Service.MediaSetDeleteResult result =
+                    s3Service.deleteS3MediaSets(jobs.stream().map(ClaimedJob::baseKey).toList());
+            for (ClaimedJob job : jobs) {
+                String reason = result.failed().get(job.baseKey());
+                if (reason == null) succeed(job);
+                else fail(job, reason, null);
+            }
+        } catch (Exception e) {
+            jobs.forEach(job -> fail(job, String.valueOf(e.getMessage()), e));
+        } finally {
+            recordDuration(MediaJobType.DELETE_MEDIA_SET, started);
+        }
+    }
+
+    private void succeed(ClaimedJob job) {
+        transactionTemplate.executeWithoutResult(status ->
+                mediaJobRepository.findById(job.jobId()).ifPresent(MediaJob::succeed));
+        processed(job.type(), "success");
+    }
+
+    private void fail(ClaimedJob job, String reason, Exception cause) {
+        int attempt = job.attempts() + 1;
+        LocalDateTime retryAt = attempt >= maxAttempts
+                ? null
+                : LocalDateTime.now().plus(Duration.ofMillis(backoffMillis(attempt)));
+        if (retryAt == null) {
+            log.error("[MEDIA-JOB] DEAD jobId={} type={} baseKey={} attempts={} reason={}",
+                    job.jobId(), job.type(), job.baseKey(), attempt, reason, cause);
+        } else {
+            log.warn("[MEDIA-JOB] 실패 jobId={} type={} baseKey={} attempt={}/{} retryAt={} reason={}",
+                    job.jobId(), job.type(), job.baseKey(), attempt, maxAttempts, retryAt, reason, cause);
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                mediaJobRepository.findById(job.jobId()).ifPresent(j -> j.fail(reason, retryAt)));
+        processed(job.type(), retryAt == null ? "dead" : "retry");
+    }
+
+    private void handle(MediaJobType type, String baseKey) {
+        switch (type) {
+            case GENERATE_VARIANTS -> mediaVariantService.generateVariants(baseKey);
+            case DELETE_MEDIA_SET -> s3Service.deleteS3MediaSet(baseKey);
+            case DELETE_PUBLIC_COPIES -> {
+                // 비공개 전환 후 작업이 돌기 전에 다시 발행됐으면 사본을 지우면 안 된다
+                if (!artifactMediaRepository.existsPublishedByBaseKey(baseKey)) {
+                    mediaVariantService.deletePublicCopies(baseKey);
+                }
+            }
+            case GENERATE_AVATARS -> {
+                if (mediaVariantService.generateAvatars(baseKey)) {
+                    profileImageService.applyAvatar(baseKey);
+                }
+            }
+        }
+    }
+
+    /** base * 2^(attempt-1), 상한 backoffMax, ±20% 지터 (동시에 실패한 작업들이 한꺼번에 재시도하지 않도록) */
+    private long backoffMillis(int attempt) {
+        long exp = backoffBaseMs << Math.min(attempt - 1, 20);
+        long capped = Math.min(exp, backoffMaxMs);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (capped * jitter);
+    }
+
+    private void recordDuration(MediaJobType type, long startedNanos) {
+        Timer.builder("media.job.duration")
+                .tag("type", type.name())
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startedNanos));
+    }
+
+    private void processed(MediaJobType type, String outcome) {
+        Counter.builder("media.job.processed")
+                .tag("type", type.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
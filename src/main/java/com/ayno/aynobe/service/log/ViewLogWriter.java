@@ -0,0 +1,207 @@
+package com.ayno.aynobe.service.log;
+
+import com.ayno.aynobe.repository.ViewLogJdbcRepository;
+import com.ayno.aynobe.repository.ViewLogJdbcRepository.VisitKey;
+import com.ayno.aynobe.service.counter.ViewCountBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 조회 로그 비동기 적재기.
+ *
+ * - 요청 스레드는 큐에 넣기만 하고 바로 반환 (DB 미접근)
+ * - 백그라운드 스레드 1개가 모아서 (user, artifact, day) 단위로 중복 제거 후 JDBC 배치 upsert
+ * - 큐가 가득 차면 기다리지 않고 버린다 → dropped 카운터로 노출
+ * - 새로 들어간 진입 로그만 조회수 버퍼에 반영 (하루 1회 집계 유지)
+ */
+@Slf4j
+@Component
+public class ViewLogWriter {
+
+    private enum Type { START, END }
+
+    private record ViewEvent(Type type, VisitKey key, LocalDateTime at) {
+    }
+
+    private final ViewLogJdbcRepository viewLogJdbcRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<ViewEvent> queue;
+    private final int batchSize;
+    private final int recentKeysLimit;
+
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    // 오늘 이미 기록한 키 (writer 스레드 전용) → 같은 사용자의 재방문은 DB 조회 없이 건너뜀
+    private final Set<VisitKey> recentKeys = new HashSet<>();
+    private LocalDate recentDate = LocalDate.now();
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public ViewLogWriter(
+            ViewLogJdbcRepository viewLogJdbcRepository,
+            ViewCountBuffer viewCountBuffer,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.viewlog.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.viewlog.batch-size:500}") int batchSize,
+            @Value("${app.viewlog.recent-keys-limit:100000}") int recentKeysLimit
+    ) {
+        this.viewLogJdbcRepository = viewLogJdbcRepository;
+        this.viewCountBuffer = viewCountBuffer;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.recentKeysLimit = recentKeysLimit;
+
+        this.accepted = Counter.builder("viewlog.queue.accepted").register(meterRegistry);
+        this.dropped = Counter.builder("viewlog.queue.dropped")
+                .description("큐가 가득 차 버린 조회 로그 수")
+                .register(meterRegistry);
+        this.written = Counter.builder("viewlog.written")
+                .description("새로 적재된 진입 로그 수")
+                .register(meterRegistry);
+        this.failed = Counter.builder("viewlog.batch.failed").register(meterRegistry);
+        Gauge.builder("viewlog.queue.size", queue, Collection::size).register(meterRegistry);
+        Gauge.builder("viewlog.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("큐 잔여 용량 (0 에 가까우면 backpressure)")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startWorker() {
+        worker = new Thread(this::runLoop, "viewlog-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /* =========== 요청 스레드 =========== */
+
+    public boolean enqueueStart(Long artifactId, Long userId, LocalDateTime enteredAt) {
+        return offer(new ViewEvent(Type.START, new VisitKey(artifactId, userId, enteredAt.toLocalDate()), enteredAt));
+    }
+
+    public boolean enqueueEnd(Long artifactId, Long userId, LocalDateTime exitAt) {
+        return offer(new ViewEvent(Type.END, new VisitKey(artifactId, userId, exitAt.toLocalDate()), exitAt));
+    }
+
+    private boolean offer(ViewEvent event) {
+        if (queue.offer(event)) {
+            accepted.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /* =========== writer 스레드 =========== */
+
+    private void runLoop() {
+        List<ViewEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ViewEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!running) break;
+            } catch (Exception e) {
+                failed.increment();
+                log.error("[VIEWLOG] 조회 로그 배치 적재 실패: {}건 유실", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<ViewEvent> batch) {
+        // 같은 키는 배치 안에서 합친다: 진입은 가장 이른 시각, 종료는 가장 늦은 시각
+        Map<VisitKey, LocalDateTime> starts = new LinkedHashMap<>();
+        Map<VisitKey, LocalDateTime> ends = new LinkedHashMap<>();
+        for (ViewEvent e : batch) {
+            if (e.type() == Type.START) {
+                starts.merge(e.key(), e.at(), (a, b) -> a.isBefore(b) ? a : b);
+            } else {
+                ends.merge(e.key(), e.at(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+
+        rollRecentKeys();
+        starts.keySet().removeAll(recentKeys);
+
+        List<VisitKey> inserted = transactionTemplate.execute(status -> {
+            List<VisitKey> created = insertNewStarts(starts);
+            viewLogJdbcRepository.updateDwell(ends);
+            return created;
+        });
+
+        // 커밋된 신규 진입만 조회수 집계
+        for (VisitKey k : inserted) {
+            viewCountBuffer.increment(k.artifactId());
+        }
+        written.increment(inserted.size());
+        if (recentKeys.size() + starts.size() > recentKeysLimit) recentKeys.clear();
+        recentKeys.addAll(starts.keySet());
+    }
+
+    private List<VisitKey> insertNewStarts(Map<VisitKey, LocalDateTime> starts) {
+        if (starts.isEmpty()) return List.of();
+
+        Set<Long> artifactIds = starts.keySet().stream().map(VisitKey::artifactId).collect(Collectors.toSet());
+        Set<Long> existingArtifacts = viewLogJdbcRepository.findExistingArtifactIds(artifactIds);
+        starts.keySet().removeIf(k -> !existingArtifacts.contains(k.artifactId()));
+
+        // 방문일별로 이미 있는 로그를 한 번에 조회해서 제외 (쓰기 줄이기용, 정확한 신규 판정은 insertIfAbsent 결과)
+        Map<LocalDate, List<VisitKey>> byDate = starts.keySet().stream()
+                .collect(Collectors.groupingBy(VisitKey::visitDate));
+        Map<VisitKey, LocalDateTime> fresh = new LinkedHashMap<>(starts);
+        byDate.forEach((date, keys) -> {
+            Set<Long> userIds = keys.stream().map(VisitKey::userId).collect(Collectors.toSet());
+            Set<Long> ids = keys.stream().map(VisitKey::artifactId).collect(Collectors.toSet());
+            fresh.keySet().removeAll(viewLogJdbcRepository.findExisting(date, userIds, ids));
+        });
+
+        return viewLogJdbcRepository.insertIfAbsent(fresh);
+    }
+
+    private void rollRecentKeys() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(recentDate)) {
+            recentKeys.clear();
+            recentDate = today;
+        }
+    }
+
+    /** 종료 시 큐에 남은 로그를 마저 적재한다. */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        if (!queue.isEmpty()) {
+            log.warn("[VIEWLOG] 종료 시점에 적재하지 못한 조회 로그: {}건", queue.size());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ayno.aynobe.service.s3;
+
+import com.ayno.aynobe.config.util.image.ImageVariant;
+import com.ayno.aynobe.config.util.image.VariantEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 미디어 파생 파일 이름의 단일 출처.
+ *
+ * - 이미지: 폭(1600/800/320) x 인코더(jpg, webp ...) 조합 → w{폭}.{확장자}
+ * - 프로필: 정사각 크롭 아바타(256/128/64) → s{크기}.jpg (목록 카드 등에 원본 대신 사용)
+ * - 발행(생성/공개 복사)은 켜진 인코더만, 삭제는 꺼진 인코더까지 포함한 전체 이름을 대상으로 한다
+ *   (설정을 바꿔도 예전에 만든 파일이 남지 않도록)
+ */
+@Component
+public class MediaVariantRegistry {
+
+    public static final Set<String> IMAGE_EXTS = Set.of("jpg", "jpeg", "png", "webp");
+    public static final Set<String> AUDIO_EXTS = Set.of("mp3", "m4a", "wav");
+
+    // 큰 폭부터: 앞 결과를 다음 축소의 입력으로 재사용
+    private static final List<Integer> IMAGE_WIDTHS = List.of(1600, 800, 320);
+    private static final List<Integer> AVATAR_SIZES = List.of(256, 128, 64);
+    private static final List<String> AUDIO_VARIANTS = List.of("a128.mp3", "preview30.mp3");
+
+    private final List<ImageVariant> activeImageVariants;
+    private final List<ImageVariant> allImageVariants;
+
+    public MediaVariantRegistry(List<VariantEncoder> encoders) {
+        List<ImageVariant> active = new ArrayList<>();
+        List<ImageVariant> all = new ArrayList<>();
+        for (int width : IMAGE_WIDTHS) {
+            for (VariantEncoder encoder : encoders) {
+                ImageVariant v = new ImageVariant(width, encoder);
+                all.add(v);
+                if (encoder.enabled()) active.add(v);
+            }
+        }
+        this.activeImageVariants = List.copyOf(active);
+        this.allImageVariants = List.copyOf(all);
+    }
+
+    public boolean isImage(String ext) {
+        return IMAGE_EXTS.contains(ext);
+    }
+
+    public boolean isAudio(String ext) {
+        return AUDIO_EXTS.contains(ext);
+    }
+
+    /** 발행 시 만들어야 할 이미지 파생 */
+    public List<ImageVariant> imageVariants() {
+        return activeImageVariants;
+    }
+
+    /** 프로필 아바타 크기 (큰 것부터) */
+    public List<Integer> avatarSizes() {
+        return AVATAR_SIZES;
+    }
+
+    public String avatarFileName(int size) {
+        return "s" + size + ".jpg";
+    }
+
+    /** 발행 시 public 으로 복사할 파일명 (원본 포함) */
+    public List<String> publishedNames(String ext) {
+        List<String> names = new ArrayList<>();
+        names.add("original." + ext);
+        if (isImage(ext)) {
+            activeImageVariants.forEach(v -> names.add(v.fileName()));
+        }
+        // 오디오는 ffmpeg 붙이기 전까지 원본만
+        return names;
+    }
+
+    /** 삭제 대상 파일명 (원본 + 만들어졌을 수 있는 모든 파생) */
+    public List<String> allNames(String ext) {
+        List<String> names = new ArrayList<>();
+        names.add("original." + ext);
+        if (isImage(ext)) {
+            allImageVariants.forEach(v -> names.add(v.fileName()));
+        } else if (isAudio(ext)) {
+            names.addAll(AUDIO_VARIANTS);
+        }
+        return names;
+    }
+}
@@ -3,29 +3,91 @@ package com.ayno.aynobe.service.s3;
 import com.ayno.aynobe.config.exception.CustomException;
 import com.ayno.aynobe.config.util.ImageResizer;
 import com.ayno.aynobe.config.util.MediaPathGenerator;
+import com.ayno.aynobe.config.util.SpillBuffer;
+import com.ayno.aynobe.config.util.image.ImageVariant;
+import com.ayno.aynobe.config.util.image.JpegVariantEncoder;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
-
+import java.util.function.Consumer;
+
+/**
+ * 미디어 파생 생성/공개 복사/삭제.
+ *
+ * 힙 사용량이 파일 크기에 비례하지 않도록
+ * - 원본은 임시 파일로 내려받아(FileChannel) 파일에서 디코딩하고
+ * - 결과는 인코딩 버퍼(넘치면 임시 파일)에서 바로 스트리밍 업로드, multipartThreshold 이상은 멀티파트로 올린다
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MediaVariantService {
 
+    // 파일명이 바뀌지 않는 한 불변 → 캐시 오래
+    private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+
     private final S3Client s3Client;
     private final ImageResizer imageResizer;
     private final MediaPathGenerator path;
+    private final MediaVariantRegistry variants;
+    private final JpegVariantEncoder jpegEncoder;
 
     @Value("${media.s3.bucket}") private String bucket;
+    @Value("${media.s3.multipart-threshold:16777216}") private long multipartThreshold;   // 16MB
+    @Value("${media.s3.multipart-part-size:8388608}") private int multipartPartSize;      // 8MB (S3 최소 5MB)
+
+    /**
+     * 업로드 직후(finalize) 워커에서 호출: 발행 전에 이미지 파생을 미리 만들어 둔다.
+     * 발행 시에는 이미 있는 파생을 건너뛰므로 복사만 남는다.
+     * 원본이 그사이 지워졌으면 할 일이 없으므로 조용히 끝낸다.
+     */
+    public void generateVariants(String baseKey) {
+        String ext = extOf(baseKey);
+        if (!variants.isImage(ext)) return;
+
+        String originalPrivate = path.toPrivateKey(baseKey);
+        if (!exists(originalPrivate)) return;
+
+        ensureImageVariants(originalPrivate);
+    }
 
-    private static final Set<String> IMAGE = Set.of("jpg","jpeg","png","webp");
-    private static final Set<String> AUDIO = Set.of("mp3","m4a","wav");
+    /**
+     * 프로필 이미지 아바타(s256/s128/s64.jpg) 생성. 프로필 원본은 처음부터 public 에 있으므로 결과도 public 에 둔다.
+     * 아바타는 어디서나 보여야 하므로 JPEG 로만 만든다.
+     * @return 원본이 있어 아바타가 준비됐으면 true
+     */
+    public boolean generateAvatars(String baseKey) {
+        if (!variants.isImage(extOf(baseKey))) return false;
+
+        String originalPublic = path.toPublicKey(baseKey);
+        if (!exists(originalPublic)) return false;
+
+        List<Integer> missing = variants.avatarSizes().stream()
+                .filter(size -> !exists(replaceTail(originalPublic, variants.avatarFileName(size))))
+                .toList();
+        if (missing.isEmpty()) return true;
+
+        withDownloaded(originalPublic, original ->
+                imageResizer.renderSquares(original, missing, jpegEncoder, (size, encoded) ->
+                        putEncoded(replaceTail(originalPublic, variants.avatarFileName(size)), encoded, jpegEncoder.contentType())));
+        return true;
+    }
 
     public void publishOne(String baseKey) {
         String ext = extOf(baseKey);
@@ -33,15 +95,15 @@ public class MediaVariantService {
 
         requireExists(originalPrivate);
 
-        if (IMAGE.contains(ext)) {
-            // 1) 이미지 파생(w320/w800/w1600) → 없는 것만 만들어 둔다
+        if (variants.isImage(ext)) {
+            // 1) 이미지 파생(w320/w800/w1600 x 켜진 포맷) → 없는 것만 만들어 둔다
             ensureImageVariants(originalPrivate);
 
             // 2) public으로 복사 (원본 + 파생)
-            copyToPublic(baseKey, List.of("original." + ext, "w320.jpg", "w800.jpg", "w1600.jpg"));
-        } else if (AUDIO.contains(ext)) {
+            copyToPublic(baseKey, variants.publishedNames(ext));
+        } else if (variants.isAudio(ext)) {
             // 임시: 오디오는 ffmpeg 붙이기 전까지 원본만 public 복사
-            copyToPublic(baseKey, List.of("original." + ext));
+            copyToPublic(baseKey, variants.publishedNames(ext));
         } else {
             throw CustomException.badRequest("지원하지 않는 확장자: " + ext);
         }
@@ -51,20 +113,14 @@ public class MediaVariantService {
         String ext = extOf(baseKey);                       // ex) "png"
         String publicDir = dirPrefix(path.toPublicKey(baseKey)); // ".../prod/public/.../media/<uuid>/"
 
-        // 원본 파일명 + 파생 파일명 목록
-        List<String> names = new ArrayList<>();
-        names.add("original." + ext);
-
-        if (IMAGE.contains(ext)) {
-            names.addAll(List.of("w320.jpg", "w800.jpg", "w1600.jpg"));
-        } else if (AUDIO.contains(ext)) {
-            // 오디오는 정책에 맞춰 추가/수정
-            names.addAll(List.of("a128.mp3", "preview30.mp3"));
-        } else {
+        if (!variants.isImage(ext) && !variants.isAudio(ext)) {
             // 지원하지 않는 확장자는 조용히 무시하거나 예외로 바꿔도 된다
             return;
         }
 
+        // 원본 파일명 + 파생 파일명 목록 (꺼진 포맷으로 예전에 만든 파일까지)
+        List<String> names = variants.allNames(ext);
+
         // S3 object identifiers 구성
         List<ObjectIdentifier> objs = names.stream()
                 .map(n -> ObjectIdentifier.builder().key(publicDir + n).build())
@@ -80,26 +136,21 @@ public class MediaVariantService {
 
     /* =========== 이미지 파생 생성 =========== */
 
-    private void ensureImageVariants(String originalPrivateKey) {
-        createIfMissing(originalPrivateKey, "w320.jpg", 320);
-        createIfMissing(originalPrivateKey, "w800.jpg", 800);
-        createIfMissing(originalPrivateKey, "w1600.jpg", 1600);
-    }
-
     /**
-     * variantName(w800.jpg) 파일이 없으면
-     * - 원본 바이트를 가져와서
-     * - targetWidth로 리사이즈 후
-     * - private 경로에 저장한다.
+     * 없는 파생 파일만 골라서
+     * - 원본은 임시 파일로 한 번만 내려받아 디코딩하고 (전체 바이트를 힙에 올리지 않음)
+     * - 빠진 파생들을 한 번의 renderVariants 호출로 만들면서 (큰 폭 → 작은 폭 순으로 단계 축소)
+     * - 하나 만들 때마다 private 경로에 바로 올린다.
      */
-    private void createIfMissing(String originalPrivateKey, String variantName, int targetWidth) {
-        String variantPrivateKey = replaceTail(originalPrivateKey, variantName);
-        if (exists(variantPrivateKey)) return; // 이미 있으면 끝
-
-        byte[] original = getBytes(originalPrivateKey);
-        byte[] resizedJpeg = imageResizer.resizeSet(original, List.of(targetWidth)).get(targetWidth);
+    private void ensureImageVariants(String originalPrivateKey) {
+        List<ImageVariant> missing = variants.imageVariants().stream()
+                .filter(v -> !exists(replaceTail(originalPrivateKey, v.fileName())))
+                .toList();
+        if (missing.isEmpty()) return; // 이미 다 있으면 원본도 받지 않는다
 
-        putBytes(variantPrivateKey, resizedJpeg, "image/jpeg");
+        withDownloaded(originalPrivateKey, original ->
+                imageResizer.renderVariants(original, missing, (v, encoded) ->
+                        putEncoded(replaceTail(originalPrivateKey, v.fileName()), encoded, v.encoder().contentType())));
     }
 
     /* =========== public 복사 =========== */
@@ -129,19 +180,67 @@ public class MediaVariantService {
         catch (S3Exception e) { return e.statusCode() != 404 ? sneaky(e) : false; }
     }
 
-    private byte[] getBytes(String key) {
-        try (var in = s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build())) {
-            return in.readAllBytes();
-        } catch (IOException e) { throw new UncheckedIOException(e); }
+    /** S3 객체를 임시 파일로 내려받아(고정 크기 청크로 FileChannel 전송) 작업 후 지운다. */
+    private void withDownloaded(String key, Consumer<Path> work) {
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile("ayno-original-", ".tmp");
+            try (InputStream in = s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+                 ReadableByteChannel src = Channels.newChannel(in);
+                 FileChannel dst = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                long position = 0, n;
+                while ((n = dst.transferFrom(src, position, 1 << 20)) > 0) position += n;
+            }
+            work.accept(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (tmp != null) {
+                try { Files.deleteIfExists(tmp); }
+                catch (IOException e) { log.warn("[MEDIA] 임시 파일 삭제 실패 {}", tmp, e); }
+            }
+        }
+    }
+
+    /** 인코딩 결과를 그대로 스트리밍 업로드 (크기를 알고 있으므로 content-length 지정) */
+    private void putEncoded(String key, SpillBuffer encoded, String contentType) throws IOException {
+        if (encoded.size() >= multipartThreshold) {
+            putMultipart(key, encoded, contentType);
+            return;
+        }
+        try (InputStream in = encoded.openInputStream()) {
+            s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(bucket).key(key).contentType(contentType)
+                            .cacheControl(IMMUTABLE_CACHE)
+                            .contentLength(encoded.size())
+                            .build(),
+                    RequestBody.fromInputStream(in, encoded.size()));
+        }
     }
 
-    private void putBytes(String key, byte[] bytes, String contentType) {
-        s3Client.putObject(PutObjectRequest.builder()
-                        .bucket(bucket).key(key).contentType(contentType)
-                        // 파일명이 바뀌지 않는 한 불변 → 캐시 오래
-                        .cacheControl("public, max-age=31536000, immutable")
-                        .build(),
-                RequestBody.fromBytes(bytes));
+    /** 큰 결과는 partSize 씩 나눠 올린다 (파트 버퍼 하나만 재사용). 실패하면 업로드를 취소한다. */
+    private void putMultipart(String key, SpillBuffer encoded, String contentType) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(c -> c.bucket(bucket).key(key)
+                .contentType(contentType).cacheControl(IMMUTABLE_CACHE)).uploadId();
+        try (InputStream in = encoded.openInputStream()) {
+            List<CompletedPart> parts = new ArrayList<>();
+            byte[] part = new byte[multipartPartSize];
+            int partNumber = 1;
+            int read;
+            while ((read = in.readNBytes(part, 0, part.length)) > 0) {
+                int number = partNumber++;
+                int length = read;
+                String eTag = s3Client.uploadPart(
+                        u -> u.bucket(bucket).key(key).uploadId(uploadId).partNumber(number).contentLength((long) length),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(part, 0, length), length)).eTag();
+                parts.add(CompletedPart.builder().partNumber(number).eTag(eTag).build());
+            }
+            s3Client.completeMultipartUpload(c -> c.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(m -> m.parts(parts)));
+        } catch (IOException | RuntimeException e) {
+            s3Client.abortMultipartUpload(a -> a.bucket(bucket).key(key).uploadId(uploadId));
+            throw e;
+        }
     }
 
     /* =========== 문자열 유틸 =========== */
@@ -1,44 +1,123 @@
 package com.ayno.aynobe.service.s3;
 
 import com.ayno.aynobe.config.exception.CustomException;
+import com.ayno.aynobe.config.util.AfterCommit;
 import com.ayno.aynobe.dto.asset.ArtifactPublishResponseDTO;
 import com.ayno.aynobe.entity.Artifact;
 import com.ayno.aynobe.entity.ArtifactMedia;
 import com.ayno.aynobe.entity.User;
+import com.ayno.aynobe.entity.enums.MediaJobType;
 import com.ayno.aynobe.repository.ArtifactMediaRepository;
 import com.ayno.aynobe.repository.ArtifactRepository;
-import lombok.RequiredArgsConstructor;
+import com.ayno.aynobe.service.cache.ArtifactDetailCache;
+import com.ayno.aynobe.service.job.MediaJobService;
+import com.ayno.aynobe.service.search.ArtifactSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class PublishService {
     private final ArtifactRepository artifactRepository;
     private final ArtifactMediaRepository artifactMediaRepository;
     private final MediaVariantService mediavariantService;
+    private final ArtifactSearchIndex artifactSearchIndex;
+    private final ArtifactDetailCache artifactDetailCache;
+    private final Executor mediaPublishExecutor;
+    private final TransactionTemplate readTx;
+    private final TransactionTemplate writeTx;
+    private final MeterRegistry meterRegistry;
+    private final MediaJobService mediaJobService;
 
-    @Transactional
+    public PublishService(ArtifactRepository artifactRepository,
+                          ArtifactMediaRepository artifactMediaRepository,
+                          MediaVariantService mediavariantService,
+                          ArtifactSearchIndex artifactSearchIndex,
+                          ArtifactDetailCache artifactDetailCache,
+                          @Qualifier("mediaPublishExecutor") Executor mediaPublishExecutor,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          MediaJobService mediaJobService) {
+        this.artifactRepository = artifactRepository;
+        this.artifactMediaRepository = artifactMediaRepository;
+        this.mediavariantService = mediavariantService;
+        this.artifactSearchIndex = artifactSearchIndex;
+        this.artifactDetailCache = artifactDetailCache;
+        this.mediaPublishExecutor = mediaPublishExecutor;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.mediaJobService = mediaJobService;
+    }
+
+    // 1단계에서 읽은 버전과 미디어 키 (3단계에서 버전으로 그 사이 수정 여부를 확인)
+    private record PublishTarget(long version, List<String> baseKeys) {
+    }
+
+    /**
+     * 발행은 3단계로 나눈다.
+     * 1) load  : 짧은 읽기 트랜잭션에서 권한 확인 + 버전/미디어 키 수집
+     * 2) media : 트랜잭션 밖에서 미디어별 파생 생성/공개 복사를 풀에 나눠 실행 (S3 대기 동안 DB 커넥션을 잡지 않음)
+     * 3) flip  : 모든 미디어가 성공했고 그 사이 결과물이 수정되지 않았을 때만 새 트랜잭션에서 PUBLIC 으로 전환
+     * 미디어 하나라도 실패하면 공개 상태는 바뀌지 않는다. (이미 만든 파생/사본은 멱등이라 재시도 시 재사용)
+     * 2단계 중에 수정(미디어 교체 포함, 수정 시 version 강제 증가)되면 409 → 다시 발행하면 새 미디어로 진행한다.
+     */
     public ArtifactPublishResponseDTO publishArtifact(User user, long artifactId) {
-        Artifact artifact = artifactRepository.findById(artifactId)
-                .orElseThrow(() -> CustomException.notFound("결과물 없음"));
-        if (!artifact.getUser().getUserId().equals(user.getUserId()))
-            throw CustomException.forbidden("본인 결과물만 발행 가능");
+        long started = System.nanoTime();
 
-        List<ArtifactMedia> medias = artifactMediaRepository.findByArtifact_ArtifactIdOrderBySortOrderAscMediaIdAsc(artifactId);
-        for (ArtifactMedia m : medias) {
-            mediavariantService.publishOne(m.getBaseKey());
-        }
+        PublishTarget target = readTx.execute(status -> {
+            Artifact artifact = loadOwned(user, artifactId);
+            List<String> keys = artifactMediaRepository.findByArtifact_ArtifactIdOrderBySortOrderAscMediaIdAsc(artifact.getArtifactId())
+                    .stream()
+                    .map(ArtifactMedia::getBaseKey)
+                    .toList();
+            return new PublishTarget(artifact.getVersion(), keys);
+        });
+        List<String> baseKeys = target.baseKeys();
+        long loaded = System.nanoTime();
 
-        artifact.publish();
+        publishMedias(baseKeys);
+        long mediaDone = System.nanoTime();
 
-        return ArtifactPublishResponseDTO.builder()
-                .artifactId(artifactId)
-                .visibility(artifact.getVisibility())
-                .publishedMediaCount(medias.size())
-                .build();
+        ArtifactPublishResponseDTO res = writeTx.execute(status -> {
+            Artifact artifact = loadOwned(user, artifactId);
+            if (artifact.getVersion() != target.version()) {
+                throw CustomException.conflict("발행 중에 결과물이 수정되었습니다. 다시 발행해 주세요.");
+            }
+            artifact.publish(); // 커밋 시 @Version 조건으로 이 사이의 수정도 막힌다
+            artifactSearchIndex.syncAfterCommit(artifact);
+            AfterCommit.run(() -> artifactDetailCache.evict(artifactId));
+
+            return ArtifactPublishResponseDTO.builder()
+                    .artifactId(artifactId)
+                    .visibility(artifact.getVisibility())
+                    .publishedMediaCount(baseKeys.size())
+                    .build();
+        });
+        long flipped = System.nanoTime();
+
+        record("load", loaded - started);
+        record("media", mediaDone - loaded);
+        record("flip", flipped - mediaDone);
+        log.info("[PUBLISH] artifactId={} medias={} load={}ms media={}ms flip={}ms",
+                artifactId, baseKeys.size(),
+                TimeUnit.NANOSECONDS.toMillis(loaded - started),
+                TimeUnit.NANOSECONDS.toMillis(mediaDone - loaded),
+                TimeUnit.NANOSECONDS.toMillis(flipped - mediaDone));
+        return res;
     }
 
     @Transactional
@@ -51,10 +130,14 @@ public class PublishService {
         List<ArtifactMedia> medias = artifactMediaRepository
                 .findByArtifact_ArtifactIdOrderBySortOrderAscMediaIdAsc(artifactId);
 
-        // 선택: public 사본 정리(삭제) — 운영 정책에 맞게 on/off
-        medias.forEach(m -> mediavariantService.deletePublicCopies(m.getBaseKey()));
+        // public 사본 정리(삭제) — 같은 트랜잭션에서 작업 큐에 적재, 커밋 후 워커가 삭제
+        // (그사이 다시 발행되면 워커가 공개 상태를 확인하고 건너뜀)
+        mediaJobService.enqueueAll(MediaJobType.DELETE_PUBLIC_COPIES,
+                medias.stream().map(ArtifactMedia::getBaseKey).toList());
 
         artifact.unpublish();
+        artifactSearchIndex.syncAfterCommit(artifact);
+        AfterCommit.run(() -> artifactDetailCache.evict(artifactId));
 
         return ArtifactPublishResponseDTO.builder()
                 .artifactId(artifactId)
@@ -62,4 +145,40 @@ public class PublishService {
                 .publishedMediaCount(medias.size())
                 .build();
     }
+
+    private Artifact loadOwned(User user, long artifactId) {
+        Artifact artifact = artifactRepository.findById(artifactId)
+                .orElseThrow(() -> CustomException.notFound("결과물 없음"));
+        if (!artifact.getUser().getUserId().equals(user.getUserId()))
+            throw CustomException.forbidden("본인 결과물만 발행 가능");
+        return artifact;
+    }
+
+    /** 미디어별 작업을 풀에 나눠 실행하고 전부 끝날 때까지 기다린다. 실패가 있으면 첫 원인을 그대로 던진다. */
+    private void publishMedias(List<String> baseKeys) {
+        if (baseKeys.isEmpty()) return;
+        if (baseKeys.size() == 1) {
+            mediavariantService.publishOne(baseKeys.get(0));
+            return;
+        }
+
+        CompletableFuture<?>[] tasks = baseKeys.stream()
+                .map(key -> CompletableFuture.runAsync(() -> mediavariantService.publishOne(key), mediaPublishExecutor))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException("미디어 발행 실패", cause);
+        }
+    }
+
+    private void record(String stage, long nanos) {
+        Timer.builder("artifact.publish.stage")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
 }
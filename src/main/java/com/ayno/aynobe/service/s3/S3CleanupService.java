@@ -1,34 +1,60 @@
 package com.ayno.aynobe.service.s3;
 
+import com.ayno.aynobe.config.util.BloomFilter;
+import com.ayno.aynobe.entity.S3CleanupRun;
+import com.ayno.aynobe.entity.S3CleanupShard;
+import com.ayno.aynobe.entity.enums.CleanupRunStatus;
 import com.ayno.aynobe.repository.ArtifactMediaRepository;
+import com.ayno.aynobe.repository.MediaReferenceJdbcRepository;
+import com.ayno.aynobe.repository.S3CleanupRunRepository;
+import com.ayno.aynobe.repository.S3CleanupShardRepository;
 import com.ayno.aynobe.repository.StepSectionRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.Delete;
-import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
-import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.S3Object;
-import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+/**
+ * S3 고아 파일(DB 에서 참조하지 않는 private 업로드) 야간 정리.
+ *
+ * - 키 공간을 사용자 ID 첫 자리(user/1 ~ user/9)로 나눠 샤드별로 병렬 스캔
+ * - 시작할 때 DB 가 참조하는 baseKey 전체를 한 번 스트리밍해 블룸 필터로 만든다
+ * - 페이지마다 필터에 "확실히 없는" 키만 DB 로 재확인 → 고아 미디어 세트 즉시 삭제 → continuation token 체크포인트
+ * - 인스턴스가 죽어 RUNNING 으로 남은 실행, 샤드 실패로 FAILED 가 된 당일 실행은 다시 돌릴 때 체크포인트부터 이어서 진행
+ * - 실행별 통계(scanned/orphaned/deleted/failed/duration)는 s3_cleanup_run 에 남긴다
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class S3CleanupService {
 
+    private static final int PAGE_SIZE = 1000; // ListObjectsV2 최대
+
     private final S3Client s3Client;
+    private final S3Service s3Service;
     private final ArtifactMediaRepository artifactMediaRepository;
     private final StepSectionRepository stepSectionRepository; // ★ 워크플로우 미디어용
+    private final MediaReferenceJdbcRepository mediaReferenceJdbcRepository;
+    private final S3CleanupRunRepository runRepository;
+    private final S3CleanupShardRepository shardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final long staleAfterMs;
 
     @Value("${media.s3.bucket}")
     private String bucket;
@@ -36,79 +62,202 @@ public class S3CleanupService {
     @Value("${media.s3.privatePrefix}")
     private String privatePrefix; // ★ private 경로 주입
 
-    private static final int BATCH_DELETE_SIZE = 1000; // S3 API는 최대 1000개
+    @Value("${app.cleanup.bloom-fpp:0.01}")
+    private double bloomFalsePositiveRate;
+
+    public S3CleanupService(S3Client s3Client,
+                            S3Service s3Service,
+                            ArtifactMediaRepository artifactMediaRepository,
+                            StepSectionRepository stepSectionRepository,
+                            MediaReferenceJdbcRepository mediaReferenceJdbcRepository,
+                            S3CleanupRunRepository runRepository,
+                            S3CleanupShardRepository shardRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Qualifier("s3CleanupExecutor") Executor executor,
+                            @Value("${app.cleanup.stale-after-ms:1800000}") long staleAfterMs) {
+        this.s3Client = s3Client;
+        this.s3Service = s3Service;
+        this.artifactMediaRepository = artifactMediaRepository;
+        this.stepSectionRepository = stepSectionRepository;
+        this.mediaReferenceJdbcRepository = mediaReferenceJdbcRepository;
+        this.runRepository = runRepository;
+        this.shardRepository = shardRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.staleAfterMs = staleAfterMs;
+    }
+
+    private record PageStats(long scanned, long orphaned, long deleted, long failed) {
+    }
 
     /**
      * 매일 새벽 3시에 고아 S3 파일 정리
      */
     @Scheduled(cron = "0 0 3 * * ?")
-    @Transactional(readOnly = true)
     public void cleanupOrphanS3Files() {
-        log.info("[BATCH] S3 고아 파일 정리 작업 시작...");
-        Instant cutoff = Instant.now().minus(24, ChronoUnit.HOURS); // 24시간 이전 파일
-        String scanPrefix = "user/"; // "user/uploads/" 경로만 스캔
+        S3CleanupRun run = acquireRun();
+        if (run == null) return;
 
-        List<ObjectIdentifier> filesToDeleteBatch = new ArrayList<>();
+        Long runId = run.getRunId();
+        Instant cutoff = run.getCutoff().atZone(ZoneId.systemDefault()).toInstant();
+        log.info("[BATCH] S3 고아 파일 정리 시작 runId={} cutoff={}", runId, run.getCutoff());
 
-        try {
-            ListObjectsV2Iterable s3ObjectPages = s3Client.listObjectsV2Paginator(
-                    req -> req.bucket(bucket).prefix(scanPrefix));
-
-            for (var page : s3ObjectPages) {
-
-                // 1. S3 페이지(최대 1000개)에서 1차 필터링
-                List<S3Object> candidates = page.contents().stream()
-                        .filter(obj -> obj.lastModified().isBefore(cutoff))
-                        .filter(obj -> obj.key().contains("/original.")) // 원본 파일만
-                        .toList();
-
-                if (candidates.isEmpty()) {
-                    continue; // 이 페이지는 검사할 대상 없음
-                }
-
-                // 2. S3 Key -> baseKey 리스트로 변환
-                List<String> baseKeysInBatch = candidates.stream()
-                        .map(S3Object::key)       // 1. S3Object -> String (s3Key)
-                        .map(this::s3KeytoBaseKey) // 2. String (s3Key) -> String (baseKey)
-                        .filter(java.util.Objects::nonNull)
-                        .toList();
-
-                if (baseKeysInBatch.isEmpty()) {
-                    continue;
-                }
-
-                // 3. (★성능개선★) DB에 존재하는 키만 "한번에" 조회 (쿼리 1번)
-                Set<String> existingKeysInDb = artifactMediaRepository.findBaseKeysIn(baseKeysInBatch);
-                // (워크플로우 미디어도 있다면)
-                existingKeysInDb.addAll(stepSectionRepository.findBaseKeysIn(baseKeysInBatch));
-
-                // 4. S3 목록과 DB 목록 비교
-                for (S3Object candidate : candidates) {
-                    String baseKey = s3KeytoBaseKey(candidate.key());
-
-                    // DB에 존재하지 않으면(false) -> 고아 파일
-                    if (baseKey != null && !existingKeysInDb.contains(baseKey)) {
-                        log.warn("[BATCH] 고아 파일 발견, 삭제 예정: {}", candidate.key());
-                        filesToDeleteBatch.add(ObjectIdentifier.builder().key(candidate.key()).build());
-                    }
-                }
-
-                // 5. 1000개 모이면 S3에서 삭제
-                if (filesToDeleteBatch.size() >= BATCH_DELETE_SIZE) {
-                    deleteBatchFromS3(filesToDeleteBatch);
-                    filesToDeleteBatch.clear();
-                }
-            }
+        BloomFilter references = buildReferenceFilter(runId);
+
+        List<CompletableFuture<Boolean>> shards = shardRepository.findByRunIdOrderByShardPrefixAsc(runId).stream()
+                .filter(shard -> !shard.isDone())
+                .map(shard -> CompletableFuture.supplyAsync(() -> scanShard(shard.getShardId(), cutoff, references), executor))
+                .toList();
+        boolean allSucceeded = shards.stream().map(CompletableFuture::join).reduce(true, Boolean::logicalAnd);
 
-            // 6. 남은 배치 삭제
-            if (!filesToDeleteBatch.isEmpty()) {
-                deleteBatchFromS3(filesToDeleteBatch);
+        S3CleanupRun finished = transactionTemplate.execute(status -> {
+            List<S3CleanupShard> all = shardRepository.findByRunIdOrderByShardPrefixAsc(runId);
+            S3CleanupRun r = runRepository.findById(runId).orElseThrow();
+            r.finish(
+                    allSucceeded && all.stream().allMatch(S3CleanupShard::isDone),
+                    all.stream().mapToLong(S3CleanupShard::getScanned).sum(),
+                    all.stream().mapToLong(S3CleanupShard::getOrphaned).sum(),
+                    all.stream().mapToLong(S3CleanupShard::getDeleted).sum(),
+                    all.stream().mapToLong(S3CleanupShard::getFailed).sum());
+            return r;
+        });
+        log.info("[BATCH] S3 고아 파일 정리 종료 runId={} status={} scanned={} orphaned={} deleted={} failed={} {}ms",
+                runId, finished.getStatus(), finished.getScanned(), finished.getOrphaned(),
+                finished.getDeleted(), finished.getFailed(), finished.getDurationMs());
+    }
+
+    /**
+     * 이번에 돌릴 실행을 정한다.
+     * - 멈춘(체크포인트가 오래된) RUNNING 실행이 있으면 그걸 이어서
+     * - 오늘 실행이 일부 샤드 실패(FAILED)로 끝났으면 다시 열어서 남은 샤드를 체크포인트부터
+     * - 다른 인스턴스가 진행 중이거나 오늘 이미 끝났으면 null
+     * - 아니면 새 실행 + 샤드 생성 (runDate 유니크로 동시 시작 방지)
+     */
+    private S3CleanupRun acquireRun() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<S3CleanupRun> unfinished = runRepository.findFirstByStatusOrderByRunIdDesc(CleanupRunStatus.RUNNING);
+        if (unfinished.isPresent()) {
+            S3CleanupRun run = unfinished.get();
+            // 샤드 체크포인트, 없으면 시작(또는 재개) 시각
+            LocalDateTime lastCheckpoint = Stream.of(shardRepository.findLastCheckpointAt(run.getRunId()),
+                            run.getUpdatedAt(), run.getStartedAt())
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .orElseThrow();
+            if (lastCheckpoint.isAfter(now.minus(Duration.ofMillis(staleAfterMs)))) {
+                log.info("[BATCH] 다른 인스턴스가 정리 중 runId={}", run.getRunId());
+                return null;
             }
+            log.warn("[BATCH] 중단된 정리 작업을 이어서 진행 runId={}", run.getRunId());
+            return run;
+        }
+
+        Optional<S3CleanupRun> today = runRepository.findByRunDate(now.toLocalDate());
+        if (today.isPresent()) {
+            S3CleanupRun run = today.get();
+            if (run.getStatus() != CleanupRunStatus.FAILED) return null;
+            Integer reopened = transactionTemplate.execute(status -> runRepository.reopenFailed(run.getRunId(), now));
+            if (reopened == null || reopened == 0) return null; // 다른 인스턴스가 먼저 다시 열었음
+            log.warn("[BATCH] 실패한 샤드를 체크포인트부터 다시 진행 runId={}", run.getRunId());
+            return runRepository.findById(run.getRunId()).orElseThrow();
+        }
 
+        try {
+            return transactionTemplate.execute(status -> {
+                S3CleanupRun run = runRepository.saveAndFlush(S3CleanupRun.start(now, now.minusHours(24))); // 24시간 이전 파일
+                shardRepository.saveAll(shardPrefixes().stream()
+                        .map(prefix -> S3CleanupShard.of(run.getRunId(), prefix))
+                        .toList());
+                return run;
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.info("[BATCH] 다른 인스턴스가 먼저 정리를 시작함");
+            return null;
+        }
+    }
+
+    /**
+     * DB 가 참조하는 baseKey 전체(artifact_media + step_section)를 한 번 스트리밍해 필터로 만든다.
+     * seed 를 runId 로 → 이번 실행에서 오탐으로 남은 고아는 다음 실행에서 걸러진다.
+     */
+    private BloomFilter buildReferenceFilter(Long runId) {
+        long started = System.nanoTime();
+        BloomFilter filter = BloomFilter.create(
+                mediaReferenceJdbcRepository.countReferences(), bloomFalsePositiveRate, runId);
+        mediaReferenceJdbcRepository.streamReferencedBaseKeys(filter::put);
+        log.info("[BATCH] 참조 필터 생성 keys={} size={}KB expectedFpp={} {}ms",
+                filter.inserted(), filter.sizeInBytes() / 1024,
+                String.format("%.4f", filter.expectedFalsePositiveRate()),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return filter;
+    }
+
+    /** "{privatePrefix}user/1" ~ "{privatePrefix}user/9" (사용자 ID 는 0 으로 시작하지 않는다) */
+    private List<String> shardPrefixes() {
+        return IntStream.rangeClosed(1, 9)
+                .mapToObj(d -> privatePrefix + "user/" + d)
+                .toList();
+    }
+
+    /** @return 샤드를 끝까지 처리했으면 true (실패 시 체크포인트가 남아 다음에 이어서) */
+    private boolean scanShard(Long shardId, Instant cutoff, BloomFilter references) {
+        S3CleanupShard shard = shardRepository.findById(shardId).orElseThrow();
+        String prefix = shard.getShardPrefix();
+        String token = shard.getContinuationToken();
+
+        try {
+            do {
+                String current = token;
+                ListObjectsV2Response page = s3Client.listObjectsV2(req -> req
+                        .bucket(bucket)
+                        .prefix(prefix)
+                        .maxKeys(PAGE_SIZE)
+                        .continuationToken(current));
+
+                PageStats stats = processPage(page.contents(), cutoff, references);
+                String next = Boolean.TRUE.equals(page.isTruncated()) ? page.nextContinuationToken() : null;
+
+                transactionTemplate.executeWithoutResult(status ->
+                        shardRepository.findById(shardId).ifPresent(s -> s.checkpoint(
+                                next, stats.scanned(), stats.orphaned(), stats.deleted(), stats.failed())));
+                token = next;
+            } while (token != null);
+            return true;
         } catch (Exception e) {
-            log.error("[BATCH] S3 고아 파일 정리 중 오류 발생", e);
+            log.error("[BATCH] 샤드 스캔 실패 prefix={}", prefix, e);
+            return false;
         }
-        log.info("[BATCH] S3 고아 파일 정리 작업 완료.");
+    }
+
+    /** 한 페이지(최대 1000개)의 원본 중 DB 에 없는 것을 미디어 세트째 삭제 */
+    private PageStats processPage(List<S3Object> objects, Instant cutoff, BloomFilter references) {
+        // 1. 1차 필터링: 충분히 오래된 원본 파일만
+        List<String> baseKeys = objects.stream()
+                .filter(obj -> obj.lastModified().isBefore(cutoff))
+                .map(S3Object::key)
+                .filter(key -> key.contains("/original.")) // 원본 파일만
+                .map(this::s3KeytoBaseKey)
+                .filter(Objects::nonNull)
+                .toList();
+        if (baseKeys.isEmpty()) return new PageStats(objects.size(), 0, 0, 0);
+
+        // 2. 필터에 없으면 필터 생성 시점 기준 확실한 고아, "있을 수도 있음"은 참조 중으로 보고 건너뜀
+        List<String> candidates = baseKeys.stream().filter(k -> !references.mightContain(k)).toList();
+        if (candidates.isEmpty()) return new PageStats(objects.size(), 0, 0, 0);
+
+        // 3. 필터를 만든 뒤에 참조된 키가 있을 수 있어 후보만 DB 로 재확인 (대개 0~수 건)
+        Set<String> existing = new HashSet<>(artifactMediaRepository.findBaseKeysIn(candidates));
+        existing.addAll(stepSectionRepository.findBaseKeysIn(candidates));
+
+        List<String> orphans = candidates.stream().filter(k -> !existing.contains(k)).toList();
+        if (orphans.isEmpty()) return new PageStats(objects.size(), 0, 0, 0);
+
+        // 4. 원본 + 파생(private/public) 즉시 삭제
+        S3Service.MediaSetDeleteResult result = s3Service.deleteS3MediaSets(orphans);
+        result.failed().forEach((baseKey, reason) -> log.warn("[BATCH] 고아 파일 삭제 실패 {} {}", baseKey, reason));
+
+        return new PageStats(objects.size(), orphans.size(), result.deleted().size(), result.failed().size());
     }
 
     /**
@@ -121,17 +270,4 @@ public class S3CleanupService {
         }
         return null;
     }
-
-    /**
-     * S3에서 파일 묶음 삭제
-     */
-    private void deleteBatchFromS3(List<ObjectIdentifier> keys) {
-        if (keys.isEmpty()) return;
-
-        log.info("[BATCH] S3 파일 {}개 삭제 실행...", keys.size());
-        s3Client.deleteObjects(DeleteObjectsRequest.builder()
-                .bucket(bucket)
-                .delete(Delete.builder().objects(keys).build())
-                .build());
-    }
 }
@@ -2,45 +2,76 @@ package com.ayno.aynobe.service.s3;
 
 import com.ayno.aynobe.config.exception.CustomException;
 import com.ayno.aynobe.config.util.MediaPathGenerator;
+import com.ayno.aynobe.dto.asset.MediaJobStatusResponseDTO;
 import com.ayno.aynobe.dto.asset.UploadDeleteRequestDTO;
+import com.ayno.aynobe.dto.asset.UploadFinalizeRequestDTO;
 import com.ayno.aynobe.dto.asset.UploadPresignRequestDTO;
 import com.ayno.aynobe.dto.asset.UploadPresignResponseDTO;
 import com.ayno.aynobe.entity.User;
+import com.ayno.aynobe.entity.enums.MediaJobType;
 import com.ayno.aynobe.entity.enums.UploadScope;
-import lombok.RequiredArgsConstructor;
+import com.ayno.aynobe.service.job.MediaJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import java.net.URL;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class S3Service {
 
-    private static final Set<String> IMG = Set.of("jpg", "jpeg", "png", "webp");
-    private static final Set<String> AUD = Set.of("mp3", "m4a", "wav");
+    private static final int MAX_KEYS_PER_DELETE = 1000; // DeleteObjects 요청당 S3 상한
 
     private final S3Client s3Client;
     private final S3Presigner presigner;
     private final MediaPathGenerator pathGen;
+    private final MediaVariantRegistry variants;
+    private final MediaJobService mediaJobService;
+    private final Executor s3DeleteExecutor;
 
     @Value("${media.s3.bucket}")
     private String bucket;
 
+    public S3Service(S3Client s3Client,
+                     S3Presigner presigner,
+                     MediaPathGenerator pathGen,
+                     MediaVariantRegistry variants,
+                     MediaJobService mediaJobService,
+                     @Qualifier("s3DeleteExecutor") Executor s3DeleteExecutor) {
+        this.s3Client = s3Client;
+        this.presigner = presigner;
+        this.pathGen = pathGen;
+        this.variants = variants;
+        this.mediaJobService = mediaJobService;
+        this.s3DeleteExecutor = s3DeleteExecutor;
+    }
+
+    /**
+     * 여러 미디어 세트 삭제 결과 (baseKey 기준)
+     *
+     * @param failed baseKey → 실패 사유 (세트 중 한 키라도 실패하면 실패)
+     */
+    public record MediaSetDeleteResult(Set<String> deleted, Map<String, String> failed) {
+    }
+
     public UploadPresignResponseDTO createPresign(User user, UploadPresignRequestDTO req) {
         validate(req);
 
@@ -83,7 +114,44 @@ public class S3Service {
                 .build();
     }
 
+    /**
+     * presigned PUT 완료 후 클라이언트가 호출.
+     * 이미지면 파생 생성 작업을 media_job 에 넣어 발행 전에 미리 만들어 둔다. (같은 baseKey 는 한 번만)
+     * 프로필(바로 public)·오디오는 파생 생성 대상이 아니다.
+     */
+    @Transactional
+    public MediaJobStatusResponseDTO finalizeUpload(User user, UploadFinalizeRequestDTO req) {
+        String baseKey = req.getBaseKey();
+        requireOwner(user, baseKey);
+
+        if (!needsVariants(baseKey)) {
+            return MediaJobStatusResponseDTO.notRequired(baseKey);
+        }
+
+        try {
+            s3Client.headObject(h -> h.bucket(bucket).key(pathGen.toPrivateKey(baseKey)));
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) throw CustomException.badRequest("업로드가 완료되지 않았습니다.");
+            throw e;
+        }
+
+        // 이미 있으면 그대로, DEAD 면 다시 finalize 한 것으로 보고 재시도
+        return MediaJobStatusResponseDTO.from(mediaJobService.requestVariants(baseKey));
+    }
+
     @Transactional(readOnly = true)
+    public MediaJobStatusResponseDTO getUploadStatus(User user, String baseKey) {
+        requireOwner(user, baseKey);
+
+        if (!needsVariants(baseKey)) {
+            return MediaJobStatusResponseDTO.notRequired(baseKey);
+        }
+        return mediaJobService.findLatest(MediaJobType.GENERATE_VARIANTS, baseKey)
+                .map(MediaJobStatusResponseDTO::from)
+                .orElseThrow(() -> CustomException.notFound("파생 생성 작업이 없습니다. 먼저 finalize 를 호출하세요."));
+    }
+
+    @Transactional
     public void deletePrivateObject(User user, UploadDeleteRequestDTO req) {
         String baseKey = req.getBaseKey();
 
@@ -96,54 +164,117 @@ public class S3Service {
             throw CustomException.forbidden("파일 삭제 권한이 없습니다.");
         }
 
-        this.deleteS3MediaSet(req.getBaseKey());
+        // 실제 삭제는 워커가 (실패 시 재시도)
+        mediaJobService.enqueue(MediaJobType.DELETE_MEDIA_SET, baseKey);
     }
 
+    /** 단건 삭제. 실패하면 예외 (media_job 워커가 재시도/DEAD 처리) */
     public void deleteS3MediaSet(String baseKey) {
         if (baseKey == null || baseKey.isBlank()) {
             return;
         }
+        MediaSetDeleteResult result = deleteS3MediaSets(List.of(baseKey));
+        if (!result.failed().isEmpty()) {
+            throw new IllegalStateException("S3 삭제 실패: " + result.failed().get(baseKey));
+        }
+    }
 
-        String ext = extOf(baseKey);
-        String privateDir = toPrivateDirPrefix(baseKey);
-        String publicDir = toPublicDirPrefix(baseKey);
+    /**
+     * 여러 baseKey 의 원본+파생(private/public) 을 한꺼번에 삭제한다.
+     * - 모든 S3 키를 모아 DeleteObjects 요청당 최대 1000개씩 묶고, 묶음들은 동시에 보낸다
+     * - 실패는 삼키지 않고 baseKey 별로 돌려준다 (요청 자체 실패 → 그 묶음의 baseKey 전부 실패)
+     */
+    public MediaSetDeleteResult deleteS3MediaSets(Collection<String> baseKeys) {
+        // S3 키 → 소속 baseKey
+        Map<String, String> ownerOf = new LinkedHashMap<>();
+        Set<String> requested = new LinkedHashSet<>();
+        for (String baseKey : baseKeys) {
+            if (baseKey == null || baseKey.isBlank() || !requested.add(baseKey)) continue;
+
+            String privateDir = toPrivateDirPrefix(baseKey);
+            String publicDir = toPublicDirPrefix(baseKey);
+            // 원본 + 파생 파일 이름 목록 (레지스트리 기준)
+            for (String name : variants.allNames(extOf(baseKey))) {
+                ownerOf.put(privateDir + name, baseKey);
+                ownerOf.put(publicDir + name, baseKey);
+            }
+        }
+        if (ownerOf.isEmpty()) return new MediaSetDeleteResult(Set.of(), Map.of());
 
-        // 1. 파생 이미지 이름 목록 생성
-        List<String> names = new ArrayList<>();
-        names.add("original." + ext);
-        if (IMG.contains(ext)) {
-            names.addAll(List.of("w320.jpg", "w800.jpg", "w1600.jpg"));
+        List<String> keys = new ArrayList<>(ownerOf.keySet());
+        List<CompletableFuture<Map<String, String>>> chunks = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_DELETE) {
+            List<String> chunk = keys.subList(from, Math.min(from + MAX_KEYS_PER_DELETE, keys.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> deleteChunk(chunk), s3DeleteExecutor));
         }
-        // TODO: 오디오 파생 파일이 있다면 여기에 추가
 
-        // 2. private + public 경로의 모든 S3 키 수집
-        List<ObjectIdentifier> keysToDelete = new ArrayList<>();
-        for (String name : names) {
-            keysToDelete.add(ObjectIdentifier.builder().key(privateDir + name).build());
-            keysToDelete.add(ObjectIdentifier.builder().key(publicDir + name).build());
+        Map<String, String> failed = new LinkedHashMap<>();
+        for (CompletableFuture<Map<String, String>> chunk : chunks) {
+            chunk.join().forEach((key, reason) -> failed.putIfAbsent(ownerOf.get(key), key + " " + reason));
         }
 
+        Set<String> deleted = new LinkedHashSet<>(requested);
+        deleted.removeAll(failed.keySet());
+        if (!failed.isEmpty()) {
+            log.warn("[S3] 미디어 세트 삭제 실패 {}/{}건 (S3 요청 {}회)", failed.size(), requested.size(), chunks.size());
+        }
+        return new MediaSetDeleteResult(deleted, failed);
+    }
+
+    /** @return 실패한 S3 키 → 사유 */
+    private Map<String, String> deleteChunk(List<String> keys) {
+        List<ObjectIdentifier> objects = keys.stream()
+                .map(k -> ObjectIdentifier.builder().key(k).build())
+                .toList();
         try {
-            s3Client.deleteObjects(DeleteObjectsRequest.builder()
+            DeleteObjectsResponse res = s3Client.deleteObjects(DeleteObjectsRequest.builder()
                     .bucket(bucket)
-                    .delete(Delete.builder().objects(keysToDelete).build())
+                    .delete(Delete.builder().objects(objects).quiet(true).build()) // quiet: 실패한 키만 응답
                     .build());
-        } catch (Exception e) {
+            if (!res.hasErrors()) return Map.of();
 
+            Map<String, String> failed = new HashMap<>();
+            for (S3Error error : res.errors()) {
+                failed.put(error.key(), error.code());
+            }
+            return failed;
+        } catch (Exception e) {
+            Map<String, String> failed = new HashMap<>();
+            String reason = String.valueOf(e.getMessage());
+            keys.forEach(k -> failed.put(k, reason));
+            return failed;
         }
     }
 
     /* =========== 유틸 로직 =========== */
 
+    private void requireOwner(User user, String baseKey) {
+        Long ownerId = parseUserIdFromBaseKey(baseKey);
+        if (ownerId == null) {
+            throw CustomException.badRequest("유효하지 않은 baseKey 형식입니다.");
+        }
+        if (!ownerId.equals(user.getUserId())) {
+            throw CustomException.forbidden("본인 업로드만 조회/처리할 수 있습니다.");
+        }
+    }
+
+    /** 이미지이면서 private 로 올라간 업로드만 파생 생성 대상 (프로필은 원본이 바로 public) */
+    private boolean needsVariants(String baseKey) {
+        String[] parts = baseKey.split("/");
+        boolean profile = parts.length > 3 && UploadScope.PROFILE.name().equalsIgnoreCase(parts[3]);
+        return !profile && variants.isImage(extOf(baseKey));
+    }
+
     private void validate(UploadPresignRequestDTO r) {
         String ext = r.getExt().toLowerCase();
-        if (!IMG.contains(ext) && !AUD.contains(ext)) {
+        boolean image = variants.isImage(ext);
+        if (!image && !variants.isAudio(ext)) {
             throw CustomException.badRequest("지원하지 않는 확장자: " + ext);
         }
 
-        long max = IMG.contains(ext) ? 10_000_000L : 50_000_000L; // 이미지 10MB / 오디오 50MB
+        long max = image ? 10_000_000L : 50_000_000L; // 이미지 10MB / 오디오 50MB
         if (r.getBytes() > max) {
-            throw CustomException.badRequest("파일이 너무 큽니다. 최대 " + (IMG.contains(ext) ? "10MB" : "50MB"));
+            throw CustomException.badRequest("파일이 너무 큽니다. 최대 " + (image ? "10MB" : "50MB"));
         }
     }
 
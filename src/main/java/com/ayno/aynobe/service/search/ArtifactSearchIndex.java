@@ -0,0 +1,238 @@
+package com.ayno.aynobe.service.search;
+
+import com.ayno.aynobe.config.exception.CustomException;
+import com.ayno.aynobe.config.util.AfterCommit;
+import com.ayno.aynobe.dto.artifact.ArtifactTitleDTO;
+import com.ayno.aynobe.entity.Artifact;
+import com.ayno.aynobe.entity.enums.VisibilityType;
+import com.ayno.aynobe.repository.ArtifactRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 공개(PUBLIC) 결과물 제목에 대한 인메모리 역색인.
+ *
+ * - {@code LIKE '%kw%'} 는 인덱스를 못 타므로, bi-gram 포스팅 리스트로 후보를 좁힌 뒤
+ *   원문 부분 문자열 비교로 확정한다 (LIKE 와 같은 결과)
+ * - 포스팅은 세그먼트로 나눈 불변 {@link PostingList} → 읽기는 락 없이, 쓰기는 writeLock 으로 직렬화
+ *   (갱신 시 바뀐 세그먼트 하나만 복사하므로 흔한 bi-gram 의 긴 리스트도 통째로 복사하지 않는다)
+ * - 생성/수정/삭제/발행/비공개 시 커밋 이후 증분 반영, 기동 시 및 관리자 요청 시 전체 재구축
+ * - 재구축 전(또는 1글자 검색)에는 {@link #supports(String)} 가 false → 기존 LIKE 경로 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArtifactSearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ArtifactRepository artifactRepository;
+
+    private final Object writeLock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    private volatile Snapshot snapshot;          // null 이면 아직 준비 안 됨
+    private List<Consumer<Snapshot>> journal;    // 재구축 중 들어온 증분 변경 (writeLock 보호)
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread t = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("[SEARCH] 검색 인덱스 초기 구축 실패 - LIKE 검색으로 동작합니다.", e);
+            }
+        }, "artifact-search-rebuild");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /* =========== 조회 =========== */
+
+    /** 인덱스로 처리 가능한 검색어인지 (인덱스 준비 완료 + gram 길이 이상) */
+    public boolean supports(String keyword) {
+        return snapshot != null
+                && keyword != null
+                && NGramTokenizer.length(NGramTokenizer.normalize(keyword)) >= NGramTokenizer.GRAM_SIZE;
+    }
+
+    /** 제목에 keyword 를 포함하는 공개 결과물 ID 목록 */
+    public Set<Long> search(String keyword) {
+        Snapshot s = snapshot;
+        if (s == null) {
+            throw new IllegalStateException("검색 인덱스가 아직 준비되지 않았습니다.");
+        }
+        return s.search(NGramTokenizer.normalize(keyword));
+    }
+
+    /* =========== 증분 반영 (커밋 이후) =========== */
+
+    /** 공개 상태면 색인, 아니면 제거 */
+    public void syncAfterCommit(Artifact artifact) {
+        Long id = artifact.getArtifactId();
+        if (artifact.getVisibility() == VisibilityType.PUBLIC) {
+            String title = NGramTokenizer.normalize(artifact.getArtifactTitle());
+            AfterCommit.run(() -> apply(s -> s.put(id, title)));
+        } else {
+            removeAfterCommit(id);
+        }
+    }
+
+    public void removeAfterCommit(Long artifactId) {
+        AfterCommit.run(() -> apply(s -> s.remove(artifactId)));
+    }
+
+    private void apply(Consumer<Snapshot> op) {
+        synchronized (writeLock) {
+            Snapshot s = snapshot;
+            if (s != null) op.accept(s);
+            if (journal != null) journal.add(op);
+        }
+    }
+
+    /* =========== 전체 재구축 =========== */
+
+    /**
+     * DB 의 공개 결과물로 인덱스를 새로 만들고 교체한다.
+     * 구축하는 동안 들어온 증분 변경은 journal 에 쌓았다가 교체 직전에 재적용한다.
+     *
+     * @return 색인된 결과물 수
+     */
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw CustomException.conflict("이미 검색 인덱스를 재구축하는 중입니다.");
+        }
+        try {
+            long started = System.currentTimeMillis();
+            synchronized (writeLock) {
+                journal = new ArrayList<>();
+            }
+
+            Snapshot.Builder builder = new Snapshot.Builder();
+            long afterId = 0L;
+            while (true) {
+                List<ArtifactTitleDTO> rows = artifactRepository.findPublicTitlesAfter(
+                        afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (rows.isEmpty()) break;
+
+                for (ArtifactTitleDTO row : rows) {
+                    builder.add(row.artifactId(), NGramTokenizer.normalize(row.artifactTitle()));
+                }
+                afterId = rows.get(rows.size() - 1).artifactId();
+            }
+
+            Snapshot fresh = builder.build();
+            synchronized (writeLock) {
+                journal.forEach(op -> op.accept(fresh));
+                journal = null;
+                snapshot = fresh;
+            }
+
+            log.info("[SEARCH] 검색 인덱스 구축 완료: docs={}, grams={}, {}ms",
+                    fresh.titles.size(), fresh.postings.size(), System.currentTimeMillis() - started);
+            return fresh.titles.size();
+        } finally {
+            synchronized (writeLock) {
+                journal = null;
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    /* =========== 인덱스 본체 =========== */
+
+    private static final class Snapshot {
+        final ConcurrentHashMap<String, PostingList> postings; // gram → 정렬된 artifactId 집합
+        final ConcurrentHashMap<Long, String> titles;          // artifactId → 정규화된 제목
+
+        Snapshot(ConcurrentHashMap<String, PostingList> postings, ConcurrentHashMap<Long, String> titles) {
+            this.postings = postings;
+            this.titles = titles;
+        }
+
+        Set<Long> search(String query) {
+            // 가장 짧은 포스팅 리스트만 훑고, 원문 포함 여부로 확정
+            PostingList shortest = null;
+            for (String gram : NGramTokenizer.grams(query)) {
+                PostingList ids = postings.get(gram);
+                if (ids == null) return Set.of();
+                if (shortest == null || ids.size() < shortest.size()) shortest = ids;
+            }
+            if (shortest == null) return Set.of();
+
+            Set<Long> result = new LinkedHashSet<>();
+            shortest.forEach(id -> {
+                String title = titles.get(id);
+                if (title != null && title.contains(query)) result.add(id);
+            });
+            return result;
+        }
+
+        void put(Long id, String title) {
+            String old = titles.put(id, title);
+            if (old != null) {
+                for (String gram : NGramTokenizer.grams(old)) {
+                    postings.computeIfPresent(gram, (g, ids) -> without(ids, id));
+                }
+            }
+            for (String gram : NGramTokenizer.grams(title)) {
+                postings.compute(gram, (g, ids) -> (ids == null ? PostingList.EMPTY : ids).with(id));
+            }
+        }
+
+        void remove(Long id) {
+            String old = titles.remove(id);
+            if (old == null) return;
+            for (String gram : NGramTokenizer.grams(old)) {
+                postings.computeIfPresent(gram, (g, ids) -> without(ids, id));
+            }
+        }
+
+        private static PostingList without(PostingList ids, long id) {
+            PostingList next = ids.without(id);
+            return next.isEmpty() ? null : next; // computeIfPresent: null → 키 제거
+        }
+
+        /** 재구축용: artifactId 오름차순으로 들어오므로 append 만으로 정렬이 유지된다 */
+        static final class Builder {
+            private final Map<String, LongArrayBuilder> postings = new HashMap<>();
+            private final ConcurrentHashMap<Long, String> titles = new ConcurrentHashMap<>();
+
+            void add(Long id, String title) {
+                titles.put(id, title);
+                for (String gram : NGramTokenizer.grams(title)) {
+                    postings.computeIfAbsent(gram, g -> new LongArrayBuilder()).add(id);
+                }
+            }
+
+            Snapshot build() {
+                ConcurrentHashMap<String, PostingList> frozen = new ConcurrentHashMap<>(postings.size() * 2);
+                postings.forEach((gram, ids) -> frozen.put(gram, PostingList.of(ids.toArray())));
+                return new Snapshot(frozen, titles);
+            }
+        }
+    }
+
+    private static final class LongArrayBuilder {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ayno.aynobe.service.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 제목 검색용 bi-gram 토크나이저.
+ *
+ * - 한글은 형태소 분석 없이도 음절 2-gram 으로 부분 일치 검색이 가능하다 ("안녕하세요" → 안녕/녕하/하세/세요)
+ * - NFC 정규화: macOS 등에서 자모 분리(NFD)로 들어온 제목도 같은 음절로 맞춘다
+ * - 영문은 소문자로 통일 (MySQL 기본 collation 의 대소문자 무시 LIKE 와 동일한 결과)
+ */
+public final class NGramTokenizer {
+
+    public static final int GRAM_SIZE = 2;
+
+    private NGramTokenizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) return "";
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    /** 정규화된 문자열의 중복 없는 n-gram 목록 (code point 기준) */
+    public static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        int[] cps = normalized.codePoints().toArray();
+        for (int i = 0; i + GRAM_SIZE <= cps.length; i++) {
+            grams.add(new String(cps, i, GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    public static int length(String normalized) {
+        return normalized.codePointCount(0, normalized.length());
+    }
+}
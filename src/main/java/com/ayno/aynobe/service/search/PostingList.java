@@ -0,0 +1,135 @@
+package com.ayno.aynobe.service.search;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * 검색 인덱스의 포스팅 리스트 (정렬된 artifactId 집합, 불변).
+ *
+ * - 최대 {@link #SEGMENT_SIZE} 개 안팎의 정렬된 세그먼트로 나눠 들고, 추가/삭제는 해당 세그먼트 하나만 복사한다
+ *   → 흔한 bi-gram 처럼 리스트가 길어도 갱신 비용은 세그먼트 크기 + 세그먼트 참조 배열로 고정 (전체 복사 없음)
+ * - 세그먼트가 2배를 넘으면 둘로 나누고, 비면 뺀다
+ * - 불변이라 읽기는 락 없이 순회한다
+ */
+final class PostingList {
+
+    static final int SEGMENT_SIZE = 1024;
+    static final PostingList EMPTY = new PostingList(new long[0][], 0);
+
+    private final long[][] segments; // 세그먼트 안도, 세그먼트끼리도 오름차순
+    private final int size;
+
+    private PostingList(long[][] segments, int size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    /** 재구축용: 오름차순 배열을 세그먼트로 자른다 */
+    static PostingList of(long[] sortedIds) {
+        int count = (sortedIds.length + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+        long[][] segments = new long[count][];
+        for (int i = 0; i < count; i++) {
+            int from = i * SEGMENT_SIZE;
+            segments[i] = Arrays.copyOfRange(sortedIds, from, Math.min(from + SEGMENT_SIZE, sortedIds.length));
+        }
+        return new PostingList(segments, sortedIds.length);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(long id) {
+        if (size == 0) return false;
+        return Arrays.binarySearch(segments[segmentFor(id)], id) >= 0;
+    }
+
+    /** 오름차순 순회 */
+    void forEach(LongConsumer action) {
+        for (long[] segment : segments) {
+            for (long id : segment) action.accept(id);
+        }
+    }
+
+    PostingList with(long id) {
+        if (size == 0) return new PostingList(new long[][]{{id}}, 1);
+
+        int s = segmentFor(id);
+        long[] segment = segments[s];
+        int pos = Arrays.binarySearch(segment, id);
+        if (pos >= 0) return this;
+
+        int insertAt = -pos - 1;
+        long[] grown = new long[segment.length + 1];
+        System.arraycopy(segment, 0, grown, 0, insertAt);
+        grown[insertAt] = id;
+        System.arraycopy(segment, insertAt, grown, insertAt + 1, segment.length - insertAt);
+
+        long[][] next;
+        if (grown.length > SEGMENT_SIZE * 2) {
+            int half = grown.length / 2;
+            next = new long[segments.length + 1][];
+            System.arraycopy(segments, 0, next, 0, s);
+            next[s] = Arrays.copyOfRange(grown, 0, half);
+            next[s + 1] = Arrays.copyOfRange(grown, half, grown.length);
+            System.arraycopy(segments, s + 1, next, s + 2, segments.length - s - 1);
+        } else {
+            next = segments.clone();
+            next[s] = grown;
+        }
+        return new PostingList(next, size + 1);
+    }
+
+    PostingList without(long id) {
+        if (size == 0) return this;
+
+        int s = segmentFor(id);
+        long[] segment = segments[s];
+        int pos = Arrays.binarySearch(segment, id);
+        if (pos < 0) return this;
+        if (size == 1) return EMPTY;
+
+        long[][] next;
+        if (segment.length == 1) {
+            next = new long[segments.length - 1][];
+            System.arraycopy(segments, 0, next, 0, s);
+            System.arraycopy(segments, s + 1, next, s, segments.length - s - 1);
+        } else {
+            long[] shrunk = new long[segment.length - 1];
+            System.arraycopy(segment, 0, shrunk, 0, pos);
+            System.arraycopy(segment, pos + 1, shrunk, pos, segment.length - pos - 1);
+            next = segments.clone();
+            next[s] = shrunk;
+        }
+        return new PostingList(next, size - 1);
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+
+    long[] segment(int index) {
+        return segments[index];
+    }
+
+    // id 가 속할(들어갈) 세그먼트: 첫 값이 id 이하인 마지막 세그먼트, 없으면 0
+    private int segmentFor(long id) {
+        int lo = 0;
+        int hi = segments.length - 1;
+        int found = 0;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (segments[mid][0] <= id) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ayno.aynobe.config.security.filter;
+
+import com.ayno.aynobe.config.security.oauth.CookieFactory;
+import com.ayno.aynobe.config.security.service.CustomAdminDetailsService;
+import com.ayno.aynobe.config.security.service.CustomUserDetailsService;
+import com.ayno.aynobe.config.security.service.JwtService;
+import com.ayno.aynobe.config.security.service.PrincipalCache;
+import com.ayno.aynobe.config.security.service.PrincipalRevocationList;
+import com.ayno.aynobe.config.security.service.RefreshTokenService;
+import com.ayno.aynobe.entity.User;
+import com.ayno.aynobe.entity.enums.UserStatus;
+import com.ayno.aynobe.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * stateless 액세스 토큰 인증.
+ * - 폐기되지 않은 토큰은 클레임만으로 principal 을 만든다 → users 조회 없음 (Hibernate 통계로 확인)
+ * - 상태가 바뀐 사용자의 이전 버전 토큰은 폐기 목록이 갱신되면 거부된다
+ */
+@DataJpaTest(properties = {
+        "jwt.secret=YXluby10ZXN0LXNlY3JldC1heW5vLXRlc3Qtc2VjcmV0LTAxMjM0NTY3ODk=",
+        "app.auth.stateless-access-token=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({JwtAuthenticationFilter.class, JwtService.class, CustomUserDetailsService.class,
+        CustomAdminDetailsService.class, PrincipalCache.class, PrincipalRevocationList.class,
+        JwtAuthenticationFilterStatelessTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 상태 변경이 커밋된 뒤 목록을 다시 만든다
+class JwtAuthenticationFilterStatelessTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+    @MockitoBean
+    private CookieFactory cookieFactory;
+    @MockitoBean
+    private JsonAccessDeniedHandler accessDeniedHandler;
+
+    @Autowired
+    private JwtAuthenticationFilter filter;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private PrincipalRevocationList revocationList;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder().username("stateless@ayno.com").nickname("stateless").build());
+        accessToken = jwtService.generateAccessToken(userDetailsService.loadUserByUsername(user.getUsername()));
+        revocationList.refresh();
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void nonRevokedTokenAuthenticatesWithoutLoadingUser() throws Exception {
+        statistics.clear();
+
+        Authentication auth = authenticate(accessToken);
+
+        assertThat(auth).isNotNull();
+        assertThat(auth.getName()).isEqualTo(user.getUsername());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void tokenOfRevokedVersionIsRejectedOnceListIsRefreshed() throws Exception {
+        // 다른 인스턴스에서 차단된 것처럼: 이 인스턴스의 캐시/목록은 아직 모른다
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(user.getUserId()).orElseThrow().changeStatus(UserStatus.BLOCKED));
+
+        assertThat(authenticate(accessToken)).isNotNull(); // 목록 갱신 전 (갱신 주기만큼의 허용 창)
+
+        revocationList.refresh();
+
+        assertThat(authenticate(accessToken)).isNull();
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/artifacts");
+        request.setCookies(new Cookie(CookieFactory.USER_ACCESS_COOKIE, token));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,83 @@
+package com.ayno.aynobe.config.security.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검증 메모: 상한을 넘지 않고, 메모 적중(해시 한 번 + 조회)이 매번 검증(HMAC + 파싱)보다 싸야 한다.
+ * 빌드에 JMH 가 없어 워밍업 후 반복 시간을 비교한다 (여유를 크게 둔 배수로만 확인).
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "YXluby10ZXN0LXNlY3JldC1heW5vLXRlc3Qtc2VjcmV0LTAxMjM0NTY3ODk=";
+    private static final int ROUNDS = 20_000;
+
+    @Test
+    void memoStaysWithinMaxEntries() {
+        JwtService jwtService = jwtService(10);
+
+        for (int i = 0; i < 50; i++) {
+            jwtService.payload(jwtService.generateAccessToken(user("user" + i)));
+        }
+
+        assertThat(jwtService.verifiedSize()).isEqualTo(10);
+    }
+
+    @Test
+    void refreshTokensAreNotMemoized() {
+        JwtService jwtService = jwtService(10);
+
+        jwtService.payload(jwtService.generateRefreshToken(user("user")));
+
+        assertThat(jwtService.verifiedSize()).isZero();
+    }
+
+    @Test
+    void memoHitIsCheaperThanVerifying() {
+        JwtService memoized = jwtService(100);
+        JwtService verifying = jwtService(0); // 메모하지 않음 → 매번 HMAC + 파싱
+        List<String> tokens = IntStream.range(0, 100)
+                .mapToObj(i -> memoized.generateAccessToken(user("user" + i)))
+                .toList();
+
+        long hit = 0;
+        long verify = 0;
+        for (int round = 0; round < 3; round++) { // 앞의 두 번은 워밍업
+            hit = timeNanos(memoized, tokens);
+            verify = timeNanos(verifying, tokens);
+        }
+
+        System.out.printf("verify memo: hit %d ns/op, verify %d ns/op%n", hit / ROUNDS, verify / ROUNDS);
+        assertThat(hit * 2).isLessThan(verify);
+    }
+
+    private static long timeNanos(JwtService jwtService, List<String> tokens) {
+        long started = System.nanoTime();
+        long sink = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += jwtService.payload(tokens.get(i % tokens.size())).subject().length();
+        }
+        long elapsed = System.nanoTime() - started;
+        assertThat(sink).isPositive();
+        return elapsed;
+    }
+
+    private static JwtService jwtService(int maxEntries) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "verifyCacheMaxEntries", maxEntries);
+        jwtService.init();
+        return jwtService;
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("").authorities("ROLE_USER").build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.ayno.aynobe.config.security.service;
+
+import com.ayno.aynobe.entity.enums.UserStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 폐기 목록 오탐에 걸린 사용자도 목록이 갱신되기 전까지는 DB 를 한 번만 읽어야 하고 (적중률),
+ * 다른 사용자의 무효화가 진행 중인 채우기를 버리지 않아야 한다.
+ */
+class PrincipalCacheTest {
+
+    private static final int REQUESTS = 1_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong epoch = new AtomicLong(1);
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // 모든 버전이 목록에 걸린다 (오탐) — 단, 현재 목록 뒤에 DB 에서 읽은 버전은 제외 (실제 구현과 같은 규칙)
+        PrincipalRevocationList revocationList = mock(PrincipalRevocationList.class);
+        when(revocationList.epoch()).thenAnswer(invocation -> epoch.get());
+        when(revocationList.mightBeRevoked(any(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> (long) invocation.getArgument(2) != epoch.get());
+        cache = new PrincipalCache(meterRegistry, revocationList, 100, 60);
+    }
+
+    @Test
+    void falsePositiveUserIsReloadedOncePerRevocationListRefresh() {
+        CountingLoader loader = new CountingLoader("user@ayno.com");
+
+        for (int i = 0; i < REQUESTS; i++) cache.getUser("user@ayno.com", loader);
+
+        assertThat(loader.loads.get()).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(REQUESTS - 1);
+        assertThat(count("hit") / REQUESTS).isGreaterThanOrEqualTo(0.99);
+
+        epoch.incrementAndGet(); // 목록 갱신 → 다시 한 번만 확인
+        for (int i = 0; i < REQUESTS; i++) cache.getUser("user@ayno.com", loader);
+
+        assertThat(loader.loads.get()).isEqualTo(2);
+        assertThat(count("revoked")).isEqualTo(1);
+    }
+
+    @Test
+    void evictOfOtherUserDoesNotDropInFlightFill() {
+        CountingLoader loader = new CountingLoader("a@ayno.com", () -> cache.evictUser("b@ayno.com"));
+
+        cache.getUser("a@ayno.com", loader);
+        cache.getUser("a@ayno.com", loader);
+
+        assertThat(loader.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void evictOfSameUserDuringLoadDropsFill() {
+        CountingLoader loader = new CountingLoader("a@ayno.com", () -> cache.evictUser("a@ayno.com"));
+
+        cache.getUser("a@ayno.com", loader);
+        cache.getUser("a@ayno.com", loader);
+
+        assertThat(loader.loads.get()).isEqualTo(2);
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("auth.principal.cache", "result", result).count();
+    }
+
+    private static final class CountingLoader implements Supplier<PrincipalCache.Snapshot> {
+        private final String username;
+        private final Runnable duringLoad;
+        private final AtomicInteger loads = new AtomicInteger();
+
+        CountingLoader(String username) {
+            this(username, () -> {
+            });
+        }
+
+        CountingLoader(String username, Runnable duringLoad) {
+            this.username = username;
+            this.duringLoad = duringLoad;
+        }
+
+        @Override
+        public PrincipalCache.Snapshot get() {
+            loads.incrementAndGet();
+            duringLoad.run();
+            return new PrincipalCache.Snapshot(1L, username, UserStatus.ACTIVE, 3);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.ayno.aynobe.config.security.service;
+
+import com.ayno.aynobe.repository.RefreshTokenRepository;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 리프레시 토큰 회전/재사용 탐지.
+ * - graceWindow 이후의 재사용 → 계열 전체 폐기 (폐기가 커밋되어 남아 있어야 한다)
+ * - graceWindow 안의 재사용(다른 인스턴스) → 액세스 토큰만
+ * - 저장소 도입 전 토큰은 한 번만 통과
+ * - 같은 토큰의 동시 재발급은 결과 하나를 공유
+ * 다른 인스턴스는 같은 DB 를 보는 별도 서비스 객체로 흉내 낸다 (single-flight 는 인스턴스 안에서만).
+ */
+@DataJpaTest(properties = {
+        "jwt.secret=YXluby10ZXN0LXNlY3JldC1heW5vLXRlc3Qtc2VjcmV0LTAxMjM0NTY3ODk=",
+        "app.auth.refresh.grace-ms=" + RefreshTokenServiceTest.GRACE_MS
+})
+@Import({RefreshTokenService.class, JwtService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 회전/폐기가 각자 커밋되어야 한다
+class RefreshTokenServiceTest {
+
+    static final long GRACE_MS = 1000;
+    private static final int CONCURRENT_REQUESTS = 10;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UserDetails user = User.withUsername("refresh@ayno.com").password("").authorities("ROLE_USER").build();
+    private final AtomicInteger principalLoads = new AtomicInteger();
+    private final Supplier<UserDetails> loader = () -> {
+        principalLoads.incrementAndGet();
+        return user;
+    };
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM refresh_token");
+    }
+
+    @Test
+    void reuseAfterGraceWindowRevokesWholeFamily() throws InterruptedException {
+        String first = refreshTokenService.issue(user, false);
+        String second = reissue(refreshTokenService, first).refreshToken();
+        String family = familyOf(first);
+
+        Thread.sleep(GRACE_MS + 200);
+
+        assertThatThrownBy(() -> reissue(refreshTokenService, first)).isInstanceOf(JwtException.class);
+        // 폐기는 실패 응답과 별개로 커밋되어 있어야 한다
+        assertThat(activeTokensInFamily(family)).isZero();
+        assertThatThrownBy(() -> reissue(otherInstance(), second)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void reuseWithinGraceWindowReturnsAccessTokenOnly() {
+        String first = refreshTokenService.issue(user, false);
+        RefreshTokenService.Reissued rotated = reissue(refreshTokenService, first);
+
+        RefreshTokenService.Reissued fromOtherInstance = reissue(otherInstance(), first);
+
+        assertThat(rotated.refreshToken()).isNotNull();
+        assertThat(fromOtherInstance.accessToken()).isNotNull();
+        assertThat(fromOtherInstance.refreshToken()).isNull(); // 새 리프레시 쿠키는 먼저 회전한 쪽 응답이 준다
+        assertThat(activeTokensInFamily(familyOf(first))).isEqualTo(2);
+    }
+
+    @Test
+    void legacyTokenIsAcceptedOnceThenRejected() throws InterruptedException {
+        String legacy = jwtService.generateRefreshToken(user); // 계열(fam) 없이 발급된 토큰
+
+        RefreshTokenService.Reissued migrated = reissue(refreshTokenService, legacy);
+        assertThat(migrated.refreshToken()).isNotNull();
+        assertThat(jwtService.payload(migrated.refreshToken()).familyId()).isNotNull();
+
+        Thread.sleep(GRACE_MS + 200);
+
+        assertThatThrownBy(() -> reissue(refreshTokenService, legacy)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> reissue(otherInstance(), migrated.refreshToken())).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void concurrentReissueOfSameTokenSharesOneResult() throws InterruptedException {
+        String token = refreshTokenService.issue(user, false);
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CONCURRENT_REQUESTS);
+        Queue<RefreshTokenService.Reissued> results = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    results.add(reissue(refreshTokenService, token));
+                } catch (Throwable t) {
+                    errors.add(t);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        pool.shutdown();
+
+        assertThat(errors).isEmpty();
+        List<String> refreshTokens = results.stream().map(RefreshTokenService.Reissued::refreshToken).distinct().toList();
+        assertThat(refreshTokens).hasSize(1).doesNotContainNull();
+        assertThat(principalLoads.get()).isEqualTo(1);
+        assertThat(refreshTokenRepository.count()).isEqualTo(2); // 처음 토큰 + 회전된 토큰 하나
+    }
+
+    private RefreshTokenService.Reissued reissue(RefreshTokenService service, String token) {
+        return service.reissue(token, jwtService.payload(token), loader);
+    }
+
+    // 같은 DB 를 보는 다른 인스턴스 (single-flight 상태를 공유하지 않는다)
+    private RefreshTokenService otherInstance() {
+        return new RefreshTokenService(refreshTokenRepository, jwtService, transactionTemplate, GRACE_MS);
+    }
+
+    private String familyOf(String token) {
+        return jwtService.payload(token).familyId();
+    }
+
+    private Integer activeTokensInFamily(String familyId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_token WHERE family_id = ? AND revoked_at IS NULL", Integer.class, familyId);
+    }
+}
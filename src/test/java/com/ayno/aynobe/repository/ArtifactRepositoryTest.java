@@ -0,0 +1,120 @@
+package com.ayno.aynobe.repository;
+
+import com.ayno.aynobe.entity.Artifact;
+import com.ayno.aynobe.entity.Reaction;
+import com.ayno.aynobe.entity.User;
+import com.ayno.aynobe.entity.enums.FlowType;
+import com.ayno.aynobe.entity.enums.ReactionType;
+import com.ayno.aynobe.entity.enums.TargetType;
+import com.ayno.aynobe.entity.enums.VisibilityType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 조회가 생성자 프로젝션으로 끝나는지 (작성자/워크플로 N+1 없음) Hibernate 통계로 확인한다.
+ * 페이지가 가득 차는 행 수(5건, 25건)에서 모두 목록 + COUNT 두 문장이어야 한다 → 행이 늘어도 문장 수는 그대로.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ArtifactRepositoryTest {
+
+    private static final int PAGE_SIZE = 4;
+    private static final PageRequest PAGE = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private ArtifactRepository artifactRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Statistics statistics;
+    private User owner;
+    private User liker;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(User.builder().username("owner@ayno.com").nickname("owner").build());
+        liker = em.persist(User.builder().username("liker@ayno.com").nickname("liker").build());
+        statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void publicFeedStatementsDoNotGrowWithRows() {
+        assertStatementsStayConstant(() -> artifactRepository.searchPublic(null, null, PAGE), false);
+    }
+
+    @Test
+    void myArtifactsStatementsDoNotGrowWithRows() {
+        assertStatementsStayConstant(() -> artifactRepository.findAllMyArtifacts(owner.getUserId(), null, PageRequest.of(0, PAGE_SIZE)), true);
+    }
+
+    @Test
+    void likedArtifactsStatementsDoNotGrowWithRows() {
+        assertStatementsStayConstant(() -> artifactRepository.findLikedArtifacts(liker.getUserId(), PageRequest.of(0, PAGE_SIZE)), false);
+    }
+
+    @Test
+    void adminSearchStatementsDoNotGrowWithRows() {
+        assertStatementsStayConstant(() -> artifactRepository.searchArtifactsForAdmin(null, null, null, PAGE), false);
+    }
+
+    private void assertStatementsStayConstant(Supplier<Page<?>> query, boolean ownerOnly) {
+        seed(5, ownerOnly);
+        long few = statementsFor(query, 5);
+
+        seed(20, ownerOnly);
+        long many = statementsFor(query, 25);
+
+        assertThat(few).isEqualTo(2);  // 목록 + COUNT
+        assertThat(many).isEqualTo(few);
+    }
+
+    private long statementsFor(Supplier<Page<?>> query, long expectedTotal) {
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        Page<?> page = query.get();
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(expectedTotal);
+        return statistics.getPrepareStatementCount();
+    }
+
+    // 작성자를 번갈아 다른 사용자로 → 작성자 조회가 N+1 이면 행 수만큼 문장이 늘어난다 (내 목록은 owner 만)
+    private void seed(int count, boolean ownerOnly) {
+        for (int i = 0; i < count; i++) {
+            int n = seeded++;
+            User author = ownerOnly || n % 2 == 0
+                    ? owner
+                    : em.persist(User.builder().username("author" + n + "@ayno.com").nickname("author" + n).build());
+            Artifact artifact = em.persist(Artifact.builder()
+                    .user(author)
+                    .category(FlowType.IMAGE)
+                    .artifactTitle("title " + n)
+                    .aiUsagePercent(50)
+                    .visibility(VisibilityType.PUBLIC)
+                    .slug("slug-" + n)
+                    .build());
+            em.persist(Reaction.builder()
+                    .user(liker)
+                    .targetType(TargetType.ARTIFACT)
+                    .targetId(artifact.getArtifactId())
+                    .reactionType(ReactionType.LIKE)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ayno.aynobe.service;
+
+import com.ayno.aynobe.config.util.DatabaseDialect;
+import com.ayno.aynobe.entity.Artifact;
+import com.ayno.aynobe.entity.User;
+import com.ayno.aynobe.entity.enums.FlowType;
+import com.ayno.aynobe.entity.enums.VisibilityType;
+import com.ayno.aynobe.repository.ArtifactJdbcRepository;
+import com.ayno.aynobe.repository.ArtifactRepository;
+import com.ayno.aynobe.repository.ReactionJdbcRepository;
+import com.ayno.aynobe.repository.UserRepository;
+import com.ayno.aynobe.service.cache.LikedArtifactCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 좋아요/취소가 동시에 몰려도 artifact.like_count 가 reaction 행 수와 같은지 확인한다.
+ * 같은 사용자의 요청이 서로 겹치도록 500개 요청을 사용자 50명에게 나눠 보낸다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reaction-concurrency;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReactionService.class, ReactionJdbcRepository.class, ArtifactJdbcRepository.class,
+        DatabaseDialect.class, LikedArtifactCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 요청마다 서비스 트랜잭션이 각자 커밋되어야 한다
+class ReactionServiceConcurrencyTest {
+
+    private static final int REQUESTS = 500;
+    private static final int USERS = 50;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArtifactRepository artifactRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private Long artifactId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(User.builder().username("user" + i + "@ayno.com").nickname("user" + i).build()));
+        }
+        Artifact artifact = artifactRepository.save(Artifact.builder()
+                .user(users.get(0))
+                .category(FlowType.IMAGE)
+                .artifactTitle("concurrency")
+                .aiUsagePercent(0)
+                .visibility(VisibilityType.PUBLIC)
+                .slug("concurrency")
+                .build());
+        artifactId = artifact.getArtifactId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM reaction");
+        jdbcTemplate.update("DELETE FROM artifact");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void likeCountMatchesReactionRowsUnderConcurrentToggles() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            User actor = users.get(i % USERS);
+            boolean like = ThreadLocalRandom.current().nextBoolean();
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    if (like) reactionService.likeArtifact(actor, artifactId);
+                    else reactionService.unlikeArtifact(actor, artifactId);
+                } catch (Throwable t) {
+                    errors.add(t);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        pool.shutdown();
+
+        assertThat(errors).isEmpty();
+        Long likeCount = jdbcTemplate.queryForObject(
+                "SELECT like_count FROM artifact WHERE artifact_id = ?", Long.class, artifactId);
+        Long reactions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reaction WHERE target_type = 'ARTIFACT' AND target_id = ? AND reaction_type = 'LIKE'",
+                Long.class, artifactId);
+        assertThat(likeCount).isEqualTo(reactions);
+        assertThat(reactions).isBetween(0L, (long) USERS);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ayno.aynobe.service.cache;
+
+import com.ayno.aynobe.dto.artifact.ArtifactDetailResponseDTO;
+import com.ayno.aynobe.dto.artifact.ArtifactVersionDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조회 도중의 무효화는 그 결과물/작성자의 채우기만 막아야 한다 (다른 키의 무효화는 무관).
+ */
+class ArtifactDetailCacheTest {
+
+    private static final ArtifactVersionDTO VERSION = new ArtifactVersionDTO(0, null, null, 0L);
+
+    private final ArtifactDetailCache cache =
+            new ArtifactDetailCache(new ObjectMapper().registerModule(new JavaTimeModule()), 2, 300);
+
+    @Test
+    void evictOfOtherArtifactDoesNotDropInFlightFill() {
+        long generation = cache.currentGeneration();
+        cache.evict(2L);
+        cache.evictByUser(20L);
+
+        cache.put(1L, detail(1L, 10L), VERSION, generation);
+
+        assertThat(cache.get(1L, VERSION)).isPresent();
+    }
+
+    @Test
+    void evictOfSameArtifactDropsInFlightFill() {
+        long generation = cache.currentGeneration();
+        cache.evict(1L);
+
+        cache.put(1L, detail(1L, 10L), VERSION, generation);
+
+        assertThat(cache.get(1L, VERSION)).isEmpty();
+    }
+
+    @Test
+    void evictOfAuthorDropsInFlightFill() {
+        long generation = cache.currentGeneration();
+        cache.evictByUser(10L);
+
+        cache.put(1L, detail(1L, 10L), VERSION, generation);
+
+        assertThat(cache.get(1L, VERSION)).isEmpty();
+    }
+
+    @Test
+    void fillStartedAfterEvictIsKept() {
+        cache.evict(1L);
+        long generation = cache.currentGeneration();
+
+        cache.put(1L, detail(1L, 10L), VERSION, generation);
+
+        assertThat(cache.get(1L, VERSION)).isPresent();
+    }
+
+    @Test
+    void fillStartedBeforeStampsWereTrimmedIsDropped() {
+        long generation = cache.currentGeneration();
+        for (long id = 100; id < 120; id++) cache.evict(id); // maxEntries(2) * 4 를 넘겨 기록을 비운다
+
+        cache.put(1L, detail(1L, 10L), VERSION, generation);
+
+        assertThat(cache.get(1L, VERSION)).isEmpty();
+    }
+
+    private static ArtifactDetailResponseDTO detail(Long artifactId, Long userId) {
+        return ArtifactDetailResponseDTO.builder().artifactId(artifactId).userId(userId).build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.ayno.aynobe.service.s3;
+
+import com.ayno.aynobe.config.exception.CustomException;
+import com.ayno.aynobe.entity.Artifact;
+import com.ayno.aynobe.entity.ArtifactMedia;
+import com.ayno.aynobe.entity.User;
+import com.ayno.aynobe.entity.enums.FlowType;
+import com.ayno.aynobe.entity.enums.MediaType;
+import com.ayno.aynobe.entity.enums.VisibilityType;
+import com.ayno.aynobe.repository.ArtifactRepository;
+import com.ayno.aynobe.repository.UserRepository;
+import com.ayno.aynobe.service.cache.ArtifactDetailCache;
+import com.ayno.aynobe.service.job.MediaJobService;
+import com.ayno.aynobe.service.search.ArtifactSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 발행 2단계(S3 작업, 트랜잭션 밖) 도중 결과물이 수정되면 공개로 바뀌지 않아야 한다.
+ * S3 쪽(MediaVariantService)은 대역으로 두고, 그 호출 중에 다른 트랜잭션에서 수정을 일으킨다.
+ */
+@DataJpaTest
+@Import({PublishService.class, PublishServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 발행의 읽기/쓰기 트랜잭션이 각자 커밋되어야 한다
+class PublishServiceTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        Executor mediaPublishExecutor() {
+            return Runnable::run;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private MediaVariantService mediaVariantService;
+    @MockitoBean
+    private ArtifactSearchIndex artifactSearchIndex;
+    @MockitoBean
+    private ArtifactDetailCache artifactDetailCache;
+    @MockitoBean
+    private MediaJobService mediaJobService;
+
+    @Autowired
+    private PublishService publishService;
+    @Autowired
+    private ArtifactRepository artifactRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private Long artifactId;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().username("owner@ayno.com").nickname("owner").build());
+        Artifact artifact = Artifact.builder()
+                .user(owner)
+                .category(FlowType.IMAGE)
+                .artifactTitle("publish")
+                .aiUsagePercent(0)
+                .visibility(VisibilityType.PRIVATE)
+                .slug("publish")
+                .build();
+        for (int i = 0; i < 2; i++) {
+            ArtifactMedia media = ArtifactMedia.builder()
+                    .mediaType(MediaType.IMAGE)
+                    .baseKey("user/" + owner.getUserId() + "/uploads/artifact/m" + i + "/original.jpg")
+                    .sortOrder(i)
+                    .build();
+            media.assignArtifact(artifact);
+            artifact.getMedias().add(media);
+        }
+        artifactId = artifactRepository.save(artifact).getArtifactId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM artifact_media");
+        jdbcTemplate.update("DELETE FROM artifact");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void publishesWhenUnchanged() {
+        publishService.publishArtifact(owner, artifactId);
+
+        verify(mediaVariantService).publishOne("user/" + owner.getUserId() + "/uploads/artifact/m0/original.jpg");
+        assertThat(visibility()).isEqualTo(VisibilityType.PUBLIC);
+    }
+
+    @Test
+    void rejectsWhenEditedWhileMediaArePublishing() {
+        // 수정 API 와 같은 방식으로 잠가서 커밋 → version 강제 증가
+        doAnswer(invocation -> {
+            transactionTemplate.executeWithoutResult(status -> artifactRepository.findForUpdateByArtifactId(artifactId));
+            return null;
+        }).when(mediaVariantService).publishOne(anyString());
+
+        assertThatThrownBy(() -> publishService.publishArtifact(owner, artifactId))
+                .isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getStatus())
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(visibility()).isEqualTo(VisibilityType.PRIVATE);
+    }
+
+    private VisibilityType visibility() {
+        return artifactRepository.findById(artifactId).orElseThrow().getVisibility();
+    }
+}
@@ -0,0 +1,213 @@
+package com.ayno.aynobe.service.s3;
+
+import com.ayno.aynobe.config.util.DatabaseDialect;
+import com.ayno.aynobe.entity.S3CleanupRun;
+import com.ayno.aynobe.entity.S3CleanupShard;
+import com.ayno.aynobe.entity.enums.CleanupRunStatus;
+import com.ayno.aynobe.repository.MediaReferenceJdbcRepository;
+import com.ayno.aynobe.repository.S3CleanupRunRepository;
+import com.ayno.aynobe.repository.S3CleanupShardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 샤드 체크포인트 이어하기.
+ * - 샤드 하나가 페이지 중간에 실패하면 실행은 FAILED, 다시 돌리면 저장된 continuation token 부터 이어서 스캔
+ * - 체크포인트가 최근인 RUNNING 실행은 다른 인스턴스가 진행 중인 것으로 보고 건드리지 않는다
+ * S3 는 대역으로 두고, 목록 요청(prefix, token)을 기록해 어디서부터 스캔했는지 확인한다.
+ */
+@DataJpaTest(properties = {
+        "media.s3.bucket=test-bucket",
+        "media.s3.privatePrefix=prod/private/",
+        "app.cleanup.stale-after-ms=1800000"
+})
+@Import({S3CleanupService.class, MediaReferenceJdbcRepository.class, DatabaseDialect.class,
+        S3CleanupServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 체크포인트가 페이지마다 커밋되어야 한다
+class S3CleanupServiceTest {
+
+    private static final String PREFIX = "prod/private/";
+    private static final String FAILING_SHARD = PREFIX + "user/1";
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        Executor s3CleanupExecutor() {
+            return Runnable::run;
+        }
+    }
+
+    @MockitoBean
+    private S3Client s3Client;
+    @MockitoBean
+    private S3Service s3Service;
+
+    @Autowired
+    private S3CleanupService s3CleanupService;
+    @Autowired
+    private S3CleanupRunRepository runRepository;
+    @Autowired
+    private S3CleanupShardRepository shardRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<ListObjectsV2Request> requests = new ArrayList<>();
+    private final AtomicBoolean failSecondPage = new AtomicBoolean(true);
+
+    @BeforeEach
+    void setUp() {
+        // user/1: 두 페이지 (두 번째 페이지 첫 요청은 실패), 나머지 샤드: 빈 페이지
+        doAnswer(invocation -> {
+            Consumer<ListObjectsV2Request.Builder> customizer = invocation.getArgument(0);
+            ListObjectsV2Request.Builder builder = ListObjectsV2Request.builder();
+            customizer.accept(builder);
+            ListObjectsV2Request request = builder.build();
+            requests.add(request);
+
+            if (!request.prefix().equals(FAILING_SHARD)) {
+                return ListObjectsV2Response.builder().isTruncated(false).build();
+            }
+            if (request.continuationToken() == null) {
+                return ListObjectsV2Response.builder()
+                        .contents(orphan("user/1/uploads/a/original.jpg"))
+                        .isTruncated(true)
+                        .nextContinuationToken("t1")
+                        .build();
+            }
+            if (failSecondPage.getAndSet(false)) {
+                throw new IllegalStateException("S3 unavailable");
+            }
+            return ListObjectsV2Response.builder()
+                    .contents(orphan("user/1/uploads/b/original.jpg"))
+                    .isTruncated(false)
+                    .build();
+        }).when(s3Client).listObjectsV2(any(Consumer.class));
+
+        doAnswer(invocation -> {
+            Collection<String> baseKeys = invocation.getArgument(0);
+            return new S3Service.MediaSetDeleteResult(new HashSet<>(baseKeys), Map.of());
+        }).when(s3Service).deleteS3MediaSets(anyCollection());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM s3_cleanup_shard");
+        jdbcTemplate.update("DELETE FROM s3_cleanup_run");
+    }
+
+    @Test
+    void rerunResumesFailedShardFromSavedContinuationToken() {
+        s3CleanupService.cleanupOrphanS3Files();
+
+        S3CleanupRun first = onlyRun();
+        assertThat(first.getStatus()).isEqualTo(CleanupRunStatus.FAILED);
+        S3CleanupShard failed = failingShard(first.getRunId());
+        assertThat(failed.isDone()).isFalse();
+        assertThat(failed.getContinuationToken()).isEqualTo("t1");
+        assertThat(failed.getDeleted()).isEqualTo(1);
+
+        requests.clear();
+        s3CleanupService.cleanupOrphanS3Files();
+
+        // 끝난 샤드는 다시 보지 않고, 실패한 샤드는 처음이 아니라 t1 부터
+        assertThat(requests).extracting(ListObjectsV2Request::prefix).containsExactly(FAILING_SHARD);
+        assertThat(requests).extracting(ListObjectsV2Request::continuationToken).containsExactly("t1");
+
+        S3CleanupRun resumed = onlyRun();
+        assertThat(resumed.getRunId()).isEqualTo(first.getRunId());
+        assertThat(resumed.getStatus()).isEqualTo(CleanupRunStatus.COMPLETED);
+        assertThat(resumed.getDeleted()).isEqualTo(2);
+        assertThat(failingShard(resumed.getRunId()).isDone()).isTrue();
+        verify(s3Service).deleteS3MediaSets(List.of("user/1/uploads/a/original.jpg"));
+        verify(s3Service).deleteS3MediaSets(List.of("user/1/uploads/b/original.jpg"));
+    }
+
+    @Test
+    void runningRunWithRecentCheckpointIsNotTakenOver() {
+        LocalDateTime now = LocalDateTime.now();
+        S3CleanupRun running = runRepository.save(S3CleanupRun.start(now, now.minusHours(24)));
+        S3CleanupShard shard = S3CleanupShard.of(running.getRunId(), FAILING_SHARD);
+        shard.checkpoint("t1", 1, 1, 1, 0);
+        shardRepository.save(shard);
+
+        s3CleanupService.cleanupOrphanS3Files();
+
+        verify(s3Client, never()).listObjectsV2(any(Consumer.class));
+        assertThat(onlyRun().getStatus()).isEqualTo(CleanupRunStatus.RUNNING);
+        assertThat(failingShard(running.getRunId()).getContinuationToken()).isEqualTo("t1");
+    }
+
+    @Test
+    void runningRunWithStaleCheckpointIsResumedFromToken() {
+        LocalDateTime now = LocalDateTime.now();
+        S3CleanupRun running = runRepository.save(S3CleanupRun.start(now, now.minusHours(24)));
+        S3CleanupShard shard = S3CleanupShard.of(running.getRunId(), FAILING_SHARD);
+        shard.checkpoint("t1", 1, 1, 1, 0);
+        shardRepository.save(shard);
+        failSecondPage.set(false);
+
+        // 인스턴스가 죽은 지 한 시간 → 체크포인트가 stale-after(30분)보다 오래됨
+        LocalDateTime anHourAgo = now.minusHours(1);
+        jdbcTemplate.update("UPDATE s3_cleanup_run SET started_at = ?, updated_at = ?", anHourAgo, anHourAgo);
+        jdbcTemplate.update("UPDATE s3_cleanup_shard SET updated_at = ?", anHourAgo);
+
+        s3CleanupService.cleanupOrphanS3Files();
+
+        assertThat(requests).extracting(ListObjectsV2Request::continuationToken).containsExactly("t1");
+        assertThat(onlyRun().getStatus()).isEqualTo(CleanupRunStatus.COMPLETED);
+        assertThat(failingShard(running.getRunId()).isDone()).isTrue();
+    }
+
+    private S3CleanupRun onlyRun() {
+        List<S3CleanupRun> runs = runRepository.findAll();
+        assertThat(runs).hasSize(1);
+        return runs.get(0);
+    }
+
+    private S3CleanupShard failingShard(Long runId) {
+        return shardRepository.findByRunIdOrderByShardPrefixAsc(runId).stream()
+                .filter(s -> s.getShardPrefix().equals(FAILING_SHARD))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static S3Object orphan(String baseKey) {
+        return S3Object.builder()
+                .key(PREFIX + baseKey)
+                .lastModified(Instant.now().minus(2, ChronoUnit.DAYS))
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.ayno.aynobe.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 포스팅 리스트 정확성 + 갱신 비용이 리스트 길이에 비례하지 않는지 (복사된 id 수로 측정).
+ */
+class PostingListTest {
+
+    @Test
+    void matchesSortedSetUnderRandomUpdates() {
+        Random random = new Random(42);
+        TreeSet<Long> expected = new TreeSet<>();
+        PostingList list = PostingList.EMPTY;
+
+        for (int i = 0; i < 50_000; i++) {
+            long id = random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(id);
+                list = list.without(id);
+            } else {
+                expected.add(id);
+                list = list.with(id);
+            }
+        }
+
+        PostingList result = list;
+        assertThat(result.size()).isEqualTo(expected.size());
+        assertThat(toList(result)).containsExactlyElementsOf(expected);
+        expected.forEach(id -> assertThat(result.contains(id)).isTrue());
+        assertThat(result.contains(20_001L)).isFalse();
+    }
+
+    @Test
+    void updateCopiesOneSegmentRegardlessOfListSize() {
+        long small = copiedIdsPerUpdate(10_000);
+        long large = copiedIdsPerUpdate(1_000_000);
+
+        // 전체 복사라면 large 가 small 의 100배 → 세그먼트 하나만 복사하므로 둘 다 세그먼트 크기 이하
+        assertThat(small).isLessThanOrEqualTo(PostingList.SEGMENT_SIZE * 2L + 1);
+        assertThat(large).isLessThanOrEqualTo(PostingList.SEGMENT_SIZE * 2L + 1);
+    }
+
+    /** 짝수 id 로 채운 리스트에 홀수 id 를 넣고 뺄 때 새로 만들어진 세그먼트의 id 수 (최댓값) */
+    private static long copiedIdsPerUpdate(int size) {
+        PostingList list = PostingList.of(LongStream.range(0, size).map(i -> i * 2).toArray());
+        Random random = new Random(7);
+        long worst = 0;
+        for (int i = 0; i < 1_000; i++) {
+            long id = random.nextInt(size) * 2L + 1;
+            PostingList added = list.with(id);
+            worst = Math.max(worst, copiedIds(list, added));
+            worst = Math.max(worst, copiedIds(added, added.without(id)));
+        }
+        return worst;
+    }
+
+    // before 에 없던(참조가 다른) 세그먼트의 id 수
+    private static long copiedIds(PostingList before, PostingList after) {
+        Set<long[]> previous = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < before.segmentCount(); i++) previous.add(before.segment(i));
+
+        long copied = 0;
+        for (int i = 0; i < after.segmentCount(); i++) {
+            long[] segment = after.segment(i);
+            if (!previous.contains(segment)) copied += segment.length;
+        }
+        return copied;
+    }
+
+    private static List<Long> toList(PostingList list) {
+        List<Long> ids = new ArrayList<>();
+        list.forEach(ids::add);
+        return ids;
+    }
+}